@@ -0,0 +1,131 @@
+package oop.ex1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Measures the construction of a board and the marking of stick sequences on it, and the reuse of a single
+ * board through reset and unmarkStickSequence, and the rendering of a large board into a new string, a
+ * reused builder and a reused byte buffer, and the enumeration of its legal moves.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+	/** Marks all the sticks of a clear board in nine legal moves, two of them splitting a segment. */
+	private final Move[] clearingMoves = {move(1, 3, 5), move(1, 1, 2), move(1, 6, 9),
+			move(2, 1, 7), move(3, 2, 2), move(3, 1, 1), move(3, 3, 5), move(4, 1, 3),
+			move(5, 1, 1)};
+
+	/** The move above marks already marked sticks, and is rejected by every board it is tried on. */
+	private final Move overlappingMove = move(1, 4, 6);
+
+	/** A board reused by every invocation, reset instead of constructed. */
+	private final Board reusedBoard = new Board();
+
+	/** A large board of 32 rows of 64 sticks, its even rows marked, rendered by the benchmarks. */
+	private final Board largeBoard = createLargeBoard();
+	private final StringBuilder renderedBuilder = new StringBuilder();
+	private final ByteBuffer renderedBuffer = ByteBuffer.allocate(largeBoard.getRenderedLength());
+
+	@Benchmark
+	public Board construct(){
+		return new Board();
+	}
+
+	@Benchmark
+	public Board constructAndMarkAll(){
+		Board board = new Board();
+		for (Move move : clearingMoves){
+			board.markStickSequence(move);
+		}
+		return board;
+	}
+
+	@Benchmark
+	public Board resetAndMarkAll(){
+		reusedBoard.reset();
+		for (Move move : clearingMoves){
+			reusedBoard.markStickSequence(move);
+		}
+		return reusedBoard;
+	}
+
+	@Benchmark
+	public Board markAndUndoAll(){
+		reusedBoard.reset();
+		for (Move move : clearingMoves){
+			reusedBoard.markStickSequence(move);
+		}
+		for (Move move : clearingMoves){
+			reusedBoard.unmarkStickSequence(move);
+		}
+		return reusedBoard;
+	}
+
+	@Benchmark
+	public int constructAndRejectOverlap(){
+		Board board = new Board();
+		board.markStickSequence(clearingMoves[0]);
+		return board.markStickSequence(overlappingMove);
+	}
+
+	@Benchmark
+	public String renderToString(){
+		return largeBoard.toString();
+	}
+
+	@Benchmark
+	public StringBuilder renderToReusedBuilder(){
+		renderedBuilder.setLength(0);
+		return largeBoard.appendTo(renderedBuilder);
+	}
+
+	@Benchmark
+	public ByteBuffer renderToReusedBuffer(){
+		renderedBuffer.clear();
+		return largeBoard.writeTo(renderedBuffer);
+	}
+
+	@Benchmark
+	public int iterateLegalMoves(){
+		int checksum = 0;
+		PrimitiveIterator.OfInt moves = largeBoard.legalMoveIterator();
+		while (moves.hasNext()){
+			checksum += moves.nextInt();
+		}
+		return checksum;
+	}
+
+	@Benchmark
+	public int streamLegalMovesInParallel(){
+		return largeBoard.legalMoves().parallel().sum();
+	}
+
+	private static Move move(int row, int leftBound, int rightBound){
+		return Move.of(BoardShape.STANDARD, row, leftBound, rightBound);
+	}
+
+	private static Board createLargeBoard(){
+		int[] rowLengths = new int[32];
+		Arrays.fill(rowLengths, BoardShape.MAX_ROW_LENGTH);
+		Board board = new Board(new BoardShape(rowLengths));
+		for (int row = 2; row <= rowLengths.length; row += 2){
+			board.markStickSequence(Move.of(board.getShape(), row, 1, BoardShape.MAX_ROW_LENGTH));
+		}
+		return board;
+	}
+}
@@ -0,0 +1,36 @@
+package oop.ex1;
+
+/**
+ * The stages of a round the benchmarks measure players at. Each stage builds its board from a fixed list of
+ * moves, so every run measures the players on the same boards.
+ */
+public enum BoardStage {
+
+	/** A clear board, all 25 sticks unmarked. */
+	EARLY(),
+	/** A board in the middle of a round, 16 sticks unmarked in 7 segments. */
+	MID(move(1, 1, 4), move(2, 3, 5), move(3, 5, 5), move(4, 2, 2)),
+	/** A board at the end of a round, 5 sticks unmarked. */
+	END(move(1, 1, 8), move(2, 1, 6), move(3, 1, 3), move(4, 1, 3));
+
+	private final Move[] moves;
+
+	BoardStage(Move... moves){
+		this.moves = moves;
+	}
+
+	private static Move move(int row, int leftBound, int rightBound){
+		return Move.of(BoardShape.STANDARD, row, leftBound, rightBound);
+	}
+
+	/**
+	 * @return a new board at this stage.
+	 */
+	public Board createBoard(){
+		Board board = new Board();
+		for (Move move : moves){
+			board.markStickSequence(move);
+		}
+		return board;
+	}
+}
@@ -0,0 +1,80 @@
+package oop.ex1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Measures the throughput of whole competitions, reported in rounds per second. The opening and closing
+ * messages of every competition are sent to a discarding stream, so the results measure the game alone. The
+ * same rounds are also played as a single batch of a BatchedSelfPlay.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CompetitionBenchmark {
+
+	/** The number of rounds in every measured competition. */
+	private static final int ROUNDS = 1000;
+
+	/** The player types of the competition, first and second player separated by a colon. */
+	@Param({"1:1", "1:2", "2:2", "3:1", "3:2", "3:3"})
+	public String players;
+
+	private int p1Type;
+	private int p2Type;
+	private PrintStream originalOut;
+
+	@Setup
+	public void setUp(){
+		String[] types = players.split(":");
+		p1Type = Integer.parseInt(types[0]);
+		p2Type = Integer.parseInt(types[1]);
+		originalOut = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b){
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len){
+			}
+		}));
+	}
+
+	@TearDown
+	public void tearDown(){
+		System.setOut(originalOut);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROUNDS)
+	public Competition playMultipleRounds(){
+		Competition competition = new Competition(new Player(p1Type, 1, null), new Player(p2Type, 2, null),
+				false);
+		competition.playMultipleRounds(ROUNDS);
+		return competition;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROUNDS)
+	public BatchedSelfPlay playBatchedRounds(){
+		BatchedSelfPlay engine = new BatchedSelfPlay(p1Type, p2Type, BoardShape.STANDARD, ROUNDS, ROUNDS);
+		engine.play(ROUNDS);
+		return engine;
+	}
+}
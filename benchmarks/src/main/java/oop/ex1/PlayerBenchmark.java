@@ -0,0 +1,45 @@
+package oop.ex1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Player.produceMove for every computer strategy at the early, middle and end stages of a round.
+ * The board is never changed by the player, so the same board is reused by all the invocations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+	/** The player type, 1 for Random, 2 for Heuristic and 3 for Smart. */
+	@Param({"1", "2", "3"})
+	public int playerType;
+
+	@Param({"EARLY", "MID", "END"})
+	public BoardStage stage;
+
+	private Player player;
+	private Board board;
+
+	@Setup
+	public void setUp(){
+		player = new Player(playerType, 1, null);
+		board = stage.createBoard();
+	}
+
+	@Benchmark
+	public Move produceMove(){
+		return player.produceMove(board);
+	}
+}
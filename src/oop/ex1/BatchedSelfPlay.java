@@ -0,0 +1,299 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+
+/**
+ * The BatchedSelfPlay class plays the rounds of a competition between two computer players in batches of
+ * games advanced in lockstep. The boards of a batch are stored as a struct of arrays, one array of row
+ * bitmasks per row of the shape, indexed by game, so marking the moves of a turn, counting the unmarked
+ * sticks and retiring the finished games are plain loops over primitive arrays. On every turn the player to
+ * move produces the moves of all the unfinished games of the batch in a single loop of its strategy, instead
+ * of one call through a Player and a Board per game and move. The strategies are created by the
+ * StrategyRegistry; those of the Random, Heuristic, Smart and Tablebase players play on the rows of the game
+ * directly, any other is given a board the rows of the game are loaded into.
+ * Every game is played exactly as a round of a Competition between players of the same types: the
+ * strategies are the same code, run on the rows of the game, the first player opens every game, and the
+ * random generators of the players are seeded for every game like those of a Competition given the same
+ * seed (see Competition.setSeed), so both play the same rounds with the same results.
+ */
+public class BatchedSelfPlay implements AutoCloseable {
+
+	/** The number of games advanced together when no batch size is given. */
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+
+	private static final int PLAYER1 = 0;
+	private static final int PLAYER2 = 1;
+
+	private final BoardShape shape;
+	private final int numRows;
+	private final int batchSize;
+	private final long seed;
+	private final Strategy[] strategies;
+
+	/* The boards of the batch: gameRows[k][game] is the bitmask of row k+1 of the game. */
+	private final long[][] gameRows;
+	private final int[] unmarkedSticks; // per game.
+	private final int[] activeGames; // the unfinished games, the first activeCount entries are valid.
+	private int activeCount;
+
+	private final int[] moves; // the packed moves of the turn (see Move.pack), indexed like activeGames.
+
+	private final long[] laneRows; // the rows of a single game, gathered for a strategy.
+	private final SplittableRandom[][] randoms; // per player and game, seeded anew for every round.
+	private final Board laneBoard; // the board of a single game, for the strategies playing on boards.
+
+	private int p1Score;
+	private int p2Score;
+	private int roundsPlayed;
+
+	/**
+	 * @param p1Type the type of the first player, any registered computer player type.
+	 * @param p2Type the type of the second player.
+	 * @param shape the shape of the boards every game is played on.
+	 * @param batchSize the number of games advanced together.
+	 * @param seed the seed the random generators of the players in every game are derived from.
+	 * @throws IllegalArgumentException if a type is not a registered computer player type, or the batch size
+	 * is not positive.
+	 * @throws UncheckedIOException if the strategy of a player needs a file that can not be read.
+	 */
+	public BatchedSelfPlay(int p1Type, int p2Type, BoardShape shape, int batchSize, long seed){
+		if (batchSize < 1){
+			throw new IllegalArgumentException("The batch size must be positive, got " + batchSize + ".");
+		}
+		this.shape = shape;
+		this.numRows = shape.getNumberOfRows();
+		this.batchSize = batchSize;
+		this.seed = seed;
+		for (int type : new int[] {p1Type, p2Type}){
+			if (type == Player.HUMAN || !StrategyRegistry.isRegistered(type)){
+				throw new IllegalArgumentException("Received a type that is not a computer player: " + type +
+						".");
+			}
+		}
+		gameRows = new long[numRows][batchSize];
+		unmarkedSticks = new int[batchSize];
+		activeGames = new int[batchSize];
+		moves = new int[batchSize];
+		laneRows = new long[numRows];
+		laneBoard = new Board(shape);
+		randoms = new SplittableRandom[2][batchSize];
+		strategies = new Strategy[2];
+		try {
+			strategies[PLAYER1] = StrategyRegistry.create(p1Type, shape, null);
+			strategies[PLAYER2] = StrategyRegistry.create(p2Type, shape, null);
+		} catch (IOException e){
+			close();
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Plays the given number of rounds, in batches, adding their results to the scores.
+	 * @param numRounds the number of rounds to play.
+	 */
+	public void play(int numRounds){
+		for (int played = 0; played < numRounds; played += batchSize){
+			playBatch(Math.min(batchSize, numRounds - played));
+		}
+	}
+
+	/**
+	 * gets score of the player.
+	 * @param playerPosition ID of the player
+	 * @return the number of rounds won by the first (1) or second (2) player, or -1 for any other id.
+	 */
+	public int getPlayerScore(int playerPosition){
+		if (playerPosition == 1){
+			return p1Score;
+		} else if (playerPosition == 2){
+			return p2Score;
+		}
+		return -1;
+	}
+
+	/**
+	 * Plays a batch of games to their end.
+	 * @param numGames the number of games in the batch, at most the batch size.
+	 */
+	private void playBatch(int numGames){
+		for (int k = 0; k < numRows; k++){
+			long clearRow = Board.sequenceMask(1, shape.getRowLength(k+1));
+			long[] row = gameRows[k];
+			for (int game = 0; game < numGames; game++){
+				row[game] = clearRow;
+			}
+		}
+		int numberOfSticks = shape.getNumberOfSticks();
+		for (int game = 0; game < numGames; game++){
+			unmarkedSticks[game] = numberOfSticks;
+			activeGames[game] = game;
+		}
+		for (int player = PLAYER1; player <= PLAYER2; player++){
+			for (int game = 0; game < numGames; game++){
+				randoms[player][game] = new SplittableRandom(Competition.roundSeed(seed, roundsPlayed + game,
+						player + 1));
+			}
+		}
+		activeCount = numGames;
+
+		int player = PLAYER1;
+		while (activeCount > 0){
+			produceMoves(player);
+			markMoves();
+			retireFinishedGames(player);
+			player = PLAYER2 - player;
+		}
+		roundsPlayed += numGames;
+	}
+
+	/**
+	 * Produces the moves of the given player in all the unfinished games, one loop per strategy.
+	 * @param player the index of the player to move.
+	 */
+	private void produceMoves(int player){
+		SplittableRandom[] playerRandoms = randoms[player];
+		Strategy strategy = strategies[player];
+		if (strategy instanceof RandomStrategy){
+			for (int i = 0; i < activeCount; i++){
+				int game = gatherRows(i);
+				setMove(i, RandomMoveSampler.produceMove(shape, laneRows, playerRandoms[game]));
+			}
+		} else if (strategy instanceof HeuristicStrategy){
+			HeuristicEngine engine = ((HeuristicStrategy) strategy).getEngine();
+			for (int i = 0; i < activeCount; i++){
+				gatherRows(i);
+				setMove(i, engine.produceMove(shape, laneRows));
+			}
+		} else if (strategy instanceof SmartStrategy){
+			NimSolver solver = ((SmartStrategy) strategy).getSolver();
+			for (int i = 0; i < activeCount; i++){
+				int game = gatherRows(i);
+				setMove(i, produceSmartMove(solver, playerRandoms[game]));
+			}
+		} else if (strategy instanceof TablebaseStrategy){
+			Tablebase tablebase = ((TablebaseStrategy) strategy).getTablebase();
+			if (!shape.equals(tablebase.getShape())){
+				tablebase = null;
+			}
+			NimSolver fallback = ((TablebaseStrategy) strategy).getFallback().getSolver();
+			for (int i = 0; i < activeCount; i++){
+				int game = gatherRows(i);
+				Move move = tablebase == null ? null : tablebase.lookup(laneRows);
+				setMove(i, move != null ? move : produceSmartMove(fallback, playerRandoms[game]));
+			}
+		} else {
+			for (int i = 0; i < activeCount; i++){
+				int game = gatherRows(i);
+				loadLaneBoard();
+				Move move = strategy.produceMove(laneBoard, playerRandoms[game]);
+				if (move == null){
+					throw new IllegalStateException("The " + strategy.getName() + " strategy forfeited a " +
+							"batched game.");
+				}
+				setMove(i, move);
+			}
+		}
+	}
+
+	/**
+	 * Marks the moves of the turn on the boards of their games.
+	 * @throws IllegalStateException if a move covers a marked stick, which a strategy must never produce.
+	 */
+	private void markMoves(){
+		for (int i = 0; i < activeCount; i++){
+			int game = activeGames[i];
+			int leftBound = Move.unpackLeftBound(moves[i]);
+			int rightBound = Move.unpackRightBound(moves[i]);
+			long moveMask = Board.sequenceMask(leftBound, rightBound);
+			long[] row = gameRows[Move.unpackRow(moves[i])-1];
+			if ((row[game] & moveMask) != moveMask){
+				throw new IllegalStateException("A strategy produced an illegal move: " +
+						Move.of(shape, moves[i]));
+			}
+			row[game] &= ~moveMask;
+			unmarkedSticks[game] -= rightBound - leftBound + 1;
+		}
+	}
+
+	/**
+	 * Removes the games whose last stick was just marked from the unfinished games, and gives their point
+	 * to the other player.
+	 * @param player the index of the player who made the last move.
+	 */
+	private void retireFinishedGames(int player){
+		int remaining = 0;
+		for (int i = 0; i < activeCount; i++){
+			int game = activeGames[i];
+			if (unmarkedSticks[game] != 0){
+				activeGames[remaining++] = game;
+			}
+		}
+		if (player == PLAYER1){
+			p2Score += activeCount - remaining;
+		} else {
+			p1Score += activeCount - remaining;
+		}
+		activeCount = remaining;
+	}
+
+	/**
+	 * Copies the rows of the i-th unfinished game into the lane rows.
+	 * @return the game.
+	 */
+	private int gatherRows(int i){
+		int game = activeGames[i];
+		for (int k = 0; k < numRows; k++){
+			laneRows[k] = gameRows[k][game];
+		}
+		return game;
+	}
+
+	/**
+	 * Loads the lane rows into the lane board, marking on a clear board the sticks they have marked.
+	 */
+	private void loadLaneBoard(){
+		laneBoard.reset();
+		for (int row = 1; row <= numRows; row++){
+			long marked = Board.sequenceMask(1, shape.getRowLength(row)) & ~laneRows[row-1];
+			while (marked != 0){
+				int leftBound = Long.numberOfTrailingZeros(marked) + 1;
+				int rightBound = leftBound + Long.numberOfTrailingZeros(~(marked >>> (leftBound - 1))) - 1;
+				laneBoard.markStickSequence(Move.of(shape, row, leftBound, rightBound));
+				marked &= ~Board.sequenceMask(leftBound, rightBound);
+			}
+		}
+	}
+
+	/**
+	 * Produces the move of the Smart player on the lane rows, falling back to a random move when the board
+	 * is too large to be solved, like the Smart player does.
+	 */
+	private Move produceSmartMove(NimSolver solver, SplittableRandom random){
+		Move move = solver.produceMove(shape, laneRows);
+		if (move == null){
+			move = RandomMoveSampler.produceMove(shape, laneRows, random);
+		}
+		return move;
+	}
+
+	/**
+	 * Stores the given move as the i-th move of the turn.
+	 */
+	private void setMove(int i, Move move){
+		moves[i] = move.pack();
+	}
+
+	/**
+	 * Closes the strategies of the players, like the threads an MCTS player searches on.
+	 */
+	@Override
+	public void close(){
+		for (Strategy strategy : strategies){
+			if (strategy != null){
+				strategy.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,584 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The Board class represents a board of the Nim game. The board can be of a variable size, described by a
+ * BoardShape. The standard board has 5 rows, 9 sticks in the first row, and 7,5,3 and 1 sticks in the
+ * following rows.
+ * A board object is reusable: a move performed on the board can be reverted with unmarkStickSequence, and
+ * reset restores a clean board in place, so a single board can serve any number of rounds or search nodes.
+ * Besides its sticks, the board keeps its segments (runs of unmarked sticks in a row) up to date: how many
+ * there are of every length, and the binary sum (XOR) of their lengths in every row and on the whole board.
+ * A move only splits the segment it was made in, so these are updated in constant time by every move, as
+ * are two hashes of the position: the Zobrist hash of its sticks, and a canonical hash of the multiset of
+ * its segment lengths, equal for all the positions that play the same way (see isEquivalent).
+ * @author OOP course staff
+ */
+public class Board {
+
+	private final BoardShape shape; //the geometry of the board, shared by all boards of the same shape.
+	private long[] gameBoard; //one bitmask per row, a set bit is an unmarked stick.
+	private int numberOfMarkedSticks; //Number of currently marked sticks on the board.
+	private int[] rowLegalMoves; //Number of legal moves in every row, kept up to date by every move.
+	private int numberOfLegalMoves; //Number of legal moves on the whole board.
+	private int[] rowNimSums; //The binary sum of the segment lengths of every row.
+	private int nimSum; //The binary sum of the lengths of all the segments on the board.
+	private int[] segmentCounts; //The number of segments of every length, index 0 is unused.
+	private int numberOfSegments; //The number of segments on the board.
+	private long positionHash; //The Zobrist hash of the marked sticks, 0 on a clear board.
+	private long canonicalHash; //The sum of the keys of the lengths of all the segments.
+
+
+	/**
+	 * Initializes a clear standard board.
+	 */
+	public Board(){
+		this(BoardShape.STANDARD);
+	}
+
+	/**
+	 * Initializes a clear board of the given shape.
+	 * @param shape the geometry of the board.
+	 */
+	public Board(BoardShape shape){
+		this.shape = shape;
+		numberOfMarkedSticks = 0;
+		gameBoard = shape.getClearRows().clone();
+		rowLegalMoves = shape.getClearRowLegalMoves().clone();
+		numberOfLegalMoves = shape.getNumberOfLegalMoves();
+		rowNimSums = new int[gameBoard.length];
+		segmentCounts = new int[shape.getMaxRowLength() + 1];
+		resetSegments();
+	}
+
+	/**
+	 * Returns a bitmask with the bits of sticks leftBound to rightBound (inclusive, counting from 1) set.
+	 * Assumes 1 <= leftBound <= rightBound <= 64.
+	 */
+	static long sequenceMask(int leftBound, int rightBound){
+		return (-1L >>> (Long.SIZE - (rightBound - leftBound + 1))) << (leftBound - 1);
+	}
+
+	/**
+	 * Returns the number of legal moves in a row with the given bitmask. A segment of n unmarked sticks
+	 * holds n(n+1)/2 legal moves, one for every choice of leftmost and rightmost stick.
+	 */
+	static int countLegalMoves(long rowBits){
+		int legalMoves = 0;
+		while(rowBits != 0){
+			int start = Long.numberOfTrailingZeros(rowBits);
+			int length = Long.numberOfTrailingZeros(~(rowBits >>> start));
+			legalMoves += length*(length+1)/2;
+			rowBits &= rowBits + (1L << start); // clears the lowest segment
+		}
+		return legalMoves;
+	}
+
+	/**
+	 * Returns a multi-line human-readable visual representation of the board
+	 * as a String object. Can be used for printing the board to screen and for
+	 * debugging.
+	 */
+	public String toString(){
+		/*
+		 * When we implement a public method named 'toString()' (exactly this name!) which returns
+		 * a String for some class, then when we send an object of this class to methods like
+		 * System.out.print() or println(), they will print this output String. If the object has
+		 * no such method, print() and println() will print using the template class_name@hashCodeIdentifier,
+		 * which in this case will look something like oop.ex1.Board@55f96302
+		 */
+		return appendTo(new StringBuilder(getRenderedLength())).toString();
+	}
+
+	/**
+	 * @return the number of characters of the visual representation of the board (see toString), which
+	 * depends on its shape only.
+	 */
+	public int getRenderedLength(){
+		int length = 0;
+		int maxLength = shape.getMaxRowLength();
+		for (int row = 1; row <= gameBoard.length; row++){
+			int currentLength = shape.getRowLength(row);
+			length += 2 * paddingLength(maxLength, currentLength) + currentLength + 1;
+		}
+		return length;
+	}
+
+	/**
+	 * Appends the visual representation of the board (see toString) to the given builder, without creating
+	 * any other object. A builder reused for many boards is only grown the first time.
+	 * @param output the builder to append to.
+	 * @return the builder.
+	 */
+	public StringBuilder appendTo(StringBuilder output){
+		try {
+			appendTo((Appendable) output);
+		} catch (IOException e){
+			throw new UncheckedIOException(e); // never thrown by a StringBuilder.
+		}
+		return output;
+	}
+
+	/**
+	 * Appends the visual representation of the board (see toString) to the given output, a character at a
+	 * time.
+	 * @param output the output to append to.
+	 * @throws IOException if the output fails.
+	 */
+	public void appendTo(Appendable output) throws IOException {
+		int maxLength = shape.getMaxRowLength();
+		for (int i = gameBoard.length-1; i >= 0; i--){
+			int currentLength = shape.getRowLength(i+1);
+			int padding = paddingLength(maxLength, currentLength);
+			for (int j = 0; j < padding; j++){
+				output.append(' ');
+			}
+			for (int j = 0; j < currentLength; j++){
+				output.append((gameBoard[i] >>> j & 1) == 0 ? '0' : '1');
+			}
+			for (int j = 0; j < padding; j++){
+				output.append(' ');
+			}
+			output.append('\n');
+		}
+	}
+
+	/**
+	 * Writes the visual representation of the board (see toString) to the given buffer as ASCII (and so
+	 * also UTF-8) bytes, starting at its position, which is advanced past them. A buffer reused for many
+	 * boards can be handed straight to a channel, or its array to a stream.
+	 * @param output the buffer to write to, with at least getRenderedLength() bytes remaining.
+	 * @return the buffer.
+	 * @throws java.nio.BufferOverflowException if the buffer has too few bytes remaining.
+	 */
+	public ByteBuffer writeTo(ByteBuffer output){
+		if (output.remaining() < getRenderedLength()){
+			throw new BufferOverflowException();
+		}
+		int maxLength = shape.getMaxRowLength();
+		for (int i = gameBoard.length-1; i >= 0; i--){
+			int currentLength = shape.getRowLength(i+1);
+			int padding = paddingLength(maxLength, currentLength);
+			for (int j = 0; j < padding; j++){
+				output.put((byte) ' ');
+			}
+			for (int j = 0; j < currentLength; j++){
+				output.put((byte) ('0' + (gameBoard[i] >>> j & 1)));
+			}
+			for (int j = 0; j < padding; j++){
+				output.put((byte) ' ');
+			}
+			output.put((byte) '\n');
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the number of spaces on each side of a row of the given length, which centers it: half the
+	 * difference from the longest row, rounded up.
+	 */
+	private static int paddingLength(int maxLength, int rowLength){
+		return (maxLength - rowLength + 1) / 2;
+	}
+
+	/**
+	 * Makes an attempt to mark the given stick sequence on the board.
+	 * In case the move is illegal the board is not changed and an appropriate error code is returned:
+	 * If the given coordinates exceed the boundaries of the board, -1 is returned.
+	 * If the current move overlaps with previously marked sticks, -2 is returned.
+	 * If the move is legal, the board changes accordingly, the number of marked sticks in the "numMarked" is
+	 * updated, 0 is returned.
+	 * @param move the move to perform
+	 * @return 0 if the move was legal, -2 and -1 if the move is not legal (details above).
+	 */
+	public int markStickSequence(Move move){
+
+		int rowNumber,leftBound,rightBound;
+		rowNumber = move.getRow();
+		leftBound = move.getLeftBound();
+		rightBound = move.getRightBound();
+
+		// Checking for legal bounds of the move
+		if( (leftBound < 1) || (leftBound > rightBound) || rowNumber <1 || rowNumber>gameBoard.length ||
+				(rightBound>shape.getRowLength(rowNumber)) )
+			return -1;
+
+		// Checking for moves covering already-marked sticks, all of them have to be unmarked.
+		long moveMask = sequenceMask(leftBound, rightBound);
+		if((gameBoard[rowNumber-1] & moveMask) != moveMask)
+			return -2;
+
+		// The move splits the segment it is made in, which is found in the row before marking.
+		updateSegments(rowNumber, gameBoard[rowNumber-1], leftBound, rightBound, 1);
+		gameBoard[rowNumber-1] &= ~moveMask;
+		numberOfMarkedSticks += (rightBound-leftBound+1);
+
+		return 0;
+	}
+
+
+	/**
+	 * Reverts a move performed on the board, unmarking the given stick sequence.
+	 * In case the sequence can not be unmarked the board is not changed and an appropriate error code is
+	 * returned, the same codes markStickSequence returns:
+	 * If the given coordinates exceed the boundaries of the board, -1 is returned.
+	 * If the sequence covers sticks which are not marked, -2 is returned.
+	 * Otherwise the sticks are unmarked, the number of marked sticks is updated, and 0 is returned.
+	 * @param move the move to revert
+	 * @return 0 if the move was reverted, -2 and -1 if it can not be reverted (details above).
+	 */
+	public int unmarkStickSequence(Move move){
+
+		int rowNumber,leftBound,rightBound;
+		rowNumber = move.getRow();
+		leftBound = move.getLeftBound();
+		rightBound = move.getRightBound();
+
+		if( (leftBound < 1) || (leftBound > rightBound) || rowNumber <1 || rowNumber>gameBoard.length ||
+				(rightBound>shape.getRowLength(rowNumber)) )
+			return -1;
+
+		// All the sticks of the sequence have to be marked.
+		long moveMask = sequenceMask(leftBound, rightBound);
+		if((gameBoard[rowNumber-1] & moveMask) != 0)
+			return -2;
+
+		gameBoard[rowNumber-1] |= moveMask;
+		numberOfMarkedSticks -= (rightBound-leftBound+1);
+		updateSegments(rowNumber, gameBoard[rowNumber-1], leftBound, rightBound, -1);
+
+		return 0;
+	}
+
+	/**
+	 * Restores the board to its initial state, all sticks unmarked, without allocating a new board.
+	 */
+	public void reset(){
+		System.arraycopy(shape.getClearRows(), 0, gameBoard, 0, gameBoard.length);
+		System.arraycopy(shape.getClearRowLegalMoves(), 0, rowLegalMoves, 0, rowLegalMoves.length);
+		numberOfMarkedSticks = 0;
+		numberOfLegalMoves = shape.getNumberOfLegalMoves();
+		positionHash = 0;
+		resetSegments();
+	}
+
+	/**
+	 * Makes this board a copy of the given board, without allocating: a cheap copy to play moves on without
+	 * changing the original, such as the rollouts of a search.
+	 * @param other a board of the same shape.
+	 * @throws IllegalArgumentException if the other board is of another shape.
+	 */
+	public void copyFrom(Board other){
+		if (shape != other.shape && !shape.equals(other.shape)){
+			throw new IllegalArgumentException("Can not copy a board of another shape.");
+		}
+		System.arraycopy(other.gameBoard, 0, gameBoard, 0, gameBoard.length);
+		System.arraycopy(other.rowLegalMoves, 0, rowLegalMoves, 0, rowLegalMoves.length);
+		System.arraycopy(other.rowNimSums, 0, rowNimSums, 0, rowNimSums.length);
+		System.arraycopy(other.segmentCounts, 0, segmentCounts, 0, segmentCounts.length);
+		numberOfMarkedSticks = other.numberOfMarkedSticks;
+		numberOfLegalMoves = other.numberOfLegalMoves;
+		nimSum = other.nimSum;
+		numberOfSegments = other.numberOfSegments;
+		positionHash = other.positionHash;
+		canonicalHash = other.canonicalHash;
+	}
+
+	/**
+	 * Sets the segments to those of a clear board, a single segment as long as every row.
+	 */
+	private void resetSegments(){
+		Arrays.fill(segmentCounts, 0);
+		nimSum = 0;
+		for (int row = 1; row <= gameBoard.length; row++){
+			int length = shape.getRowLength(row);
+			rowNimSums[row-1] = length;
+			nimSum ^= length;
+			segmentCounts[length]++;
+		}
+		numberOfSegments = gameBoard.length;
+		canonicalHash = shape.getClearCanonicalHash();
+	}
+
+	/**
+	 * Splits the segment a sequence of sticks is marked in into the segments left on its two sides, or
+	 * merges them back when the sequence is unmarked, updating the segments and legal moves of the board.
+	 * @param row the row of the sequence.
+	 * @param rowBits the bitmask of the row with the sequence unmarked.
+	 * @param leftBound the leftmost stick of the sequence.
+	 * @param rightBound the rightmost stick of the sequence.
+	 * @param direction 1 to split the segment, -1 to merge it back.
+	 */
+	private void updateSegments(int row, long rowBits, int leftBound, int rightBound, int direction){
+		// The segment runs from the bit after the last marked stick below the sequence, to the bit before
+		// the first marked stick above it (bits past the end of the row are never set).
+		long markedBelow = ~rowBits & ((1L << (leftBound-1)) - 1);
+		int start = markedBelow == 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(markedBelow);
+		int end = rightBound == Long.SIZE ? Long.SIZE :
+				Math.min(Long.SIZE, rightBound + Long.numberOfTrailingZeros(~rowBits >>> rightBound));
+		int length = end - start;
+		int leftLength = leftBound - 1 - start;
+		int rightLength = end - rightBound;
+
+		int lengthsSum = length ^ leftLength ^ rightLength;
+		rowNimSums[row-1] ^= lengthsSum;
+		nimSum ^= lengthsSum;
+		segmentCounts[length] -= direction;
+		segmentCounts[leftLength] += direction;
+		segmentCounts[rightLength] += direction;
+		segmentCounts[0] = 0;
+		numberOfSegments += direction * ((leftLength > 0 ? 1 : 0) + (rightLength > 0 ? 1 : 0) - 1);
+		canonicalHash += direction * (Zobrist.segmentKey(leftLength) + Zobrist.segmentKey(rightLength) -
+				Zobrist.segmentKey(length));
+		positionHash ^= shape.getSequenceKey(row, leftBound, rightBound);
+
+		// A segment of n sticks holds n(n+1)/2 legal moves.
+		int legalMoves = direction * (leftLength*(leftLength+1)/2 + rightLength*(rightLength+1)/2 -
+				length*(length+1)/2);
+		rowLegalMoves[row-1] += legalMoves;
+		numberOfLegalMoves += legalMoves;
+	}
+
+	/**
+	 * Returns the number of rows in the board
+	 */
+	public int getNumberOfRows(){
+		return gameBoard.length;
+	}
+
+	/**
+	 * Returns the total number of sticks (marked and unmarked) in the row. A legal input to this method is
+	 * an integer number between 1 and the output of "getNumberOfRows()". Returns -1 in case the input is
+	 * invalid.
+	 */
+	public int getRowLength(int row){
+
+		if(row<1 || row>gameBoard.length)
+			return -1;
+
+		return shape.getRowLength(row);
+	}
+
+	/**
+	 * Given an index to the stick position (row and number in row - counting from the left side),
+	 * this method returns true if the stick is unmarked, and false if it is marked, or if the input is
+	 * out of bounds.
+	 */
+	public boolean isStickUnmarked(int row,int stickNum){
+
+		if(row<1 || row>gameBoard.length || stickNum<1 || stickNum>shape.getRowLength(row))
+			return false;
+
+		return ((gameBoard[row-1] >>> (stickNum-1)) & 1) == 1;
+
+	}
+
+	/**
+	 * @return The number of marked sticks on the board.
+	 */
+	public int getNumberOfMarkedSticks() {
+		// This is a classic "getter" method. We use getter methods when we want other classes to be
+		// able to read the value of some private field in some class, without being able to change it.
+		// If we simply made the field (in this case 'numMarked') public, other classes could read AND
+		// change it, so this is a better solution.
+		return numberOfMarkedSticks;
+	}
+
+	/**
+	 * @return the number of unmarked sticks on the board.
+	 */
+	public int getNumberOfUnmarkedSticks(){
+		return shape.getNumberOfSticks() - numberOfMarkedSticks;
+	}
+
+	/**
+	 * @return the shape of the board.
+	 */
+	public BoardShape getShape(){
+		return shape;
+	}
+
+	/**
+	 * Returns the bitmask of the given row, bit j-1 is set when stick j is unmarked. Used by the players
+	 * to inspect whole rows at once instead of one stick at a time. Assumes a legal row number.
+	 */
+	long getRowBits(int row){
+		return gameBoard[row-1];
+	}
+
+	/**
+	 * Enumerates the legal moves of the board lazily, as packed move codes (see Move.pack) in increasing
+	 * order, without allocating anything per move. The board must not change while the iterator is used.
+	 * @return an iterator over the packed legal moves.
+	 */
+	public PrimitiveIterator.OfInt legalMoveIterator(){
+		return new LegalMoveIterator(this, 1, gameBoard.length + 1);
+	}
+
+	/**
+	 * Like legalMoveIterator, as a spliterator of exact size that splits by rows, such as for the rows of a
+	 * large board to be searched in parallel.
+	 * @return a spliterator over the packed legal moves.
+	 */
+	public Spliterator.OfInt legalMoveSpliterator(){
+		return new LegalMoveIterator(this, 1, gameBoard.length + 1);
+	}
+
+	/**
+	 * @return a sequential stream of the packed legal moves of the board, see legalMoveIterator, which can
+	 * be made parallel.
+	 */
+	public IntStream legalMoves(){
+		return StreamSupport.intStream(legalMoveSpliterator(), false);
+	}
+
+	/**
+	 * @return the number of legal moves on the board, that is the number of moves marking only unmarked
+	 * sticks.
+	 */
+	public int getNumberOfLegalMoves(){
+		return numberOfLegalMoves;
+	}
+
+	/**
+	 * Returns the number of legal moves in the given row. Assumes a legal row number.
+	 */
+	public int getNumberOfLegalMoves(int row){
+		return rowLegalMoves[row-1];
+	}
+
+	/**
+	 * @return the binary sum (XOR) of the lengths of all the segments of unmarked sticks on the board. The
+	 * player to move can force a win (of the normal game) exactly when it is not zero.
+	 */
+	public int getNimSum(){
+		return nimSum;
+	}
+
+	/**
+	 * Returns the binary sum of the lengths of the segments of unmarked sticks in the given row. Assumes a
+	 * legal row number.
+	 */
+	public int getRowNimSum(int row){
+		return rowNimSums[row-1];
+	}
+
+	/**
+	 * @return the number of segments of unmarked sticks on the board.
+	 */
+	public int getNumberOfSegments(){
+		return numberOfSegments;
+	}
+
+	/**
+	 * Returns the number of segments of exactly the given number of unmarked sticks on the board, 0 for any
+	 * length that no row can hold.
+	 */
+	public int getNumberOfSegmentsOfLength(int length){
+		if (length < 1 || length >= segmentCounts.length){
+			return 0;
+		}
+		return segmentCounts[length];
+	}
+
+	/**
+	 * @return the length of the longest segment of unmarked sticks on the board, 0 if all sticks are marked.
+	 */
+	public int getLongestSegmentLength(){
+		int length = segmentCounts.length - 1;
+		while (length > 0 && segmentCounts[length] == 0){
+			length--;
+		}
+		return length;
+	}
+
+	/**
+	 * @return the Zobrist hash of the position: the XOR of random keys of its marked sticks, kept up to date
+	 * by every move. Equal positions of equal shapes have equal hashes.
+	 */
+	public long getPositionHash(){
+		return positionHash;
+	}
+
+	/**
+	 * @return the canonical hash of the position: the sum of random keys of the lengths of its segments,
+	 * kept up to date by every move. Equivalent positions (see isEquivalent) have equal canonical hashes,
+	 * whatever rows and shapes their segments are in.
+	 */
+	public long getCanonicalHash(){
+		return canonicalHash;
+	}
+
+	/**
+	 * Tells whether the position on the given board is equivalent to this one: whether their segments have
+	 * the same lengths, in any rows and order. Since a move only ever changes a single segment, equivalent
+	 * positions play exactly the same way, and have the same winner. The canonical hashes are compared
+	 * first, so telling most positions apart costs a single comparison.
+	 * @param other the board to compare with, of any shape.
+	 * @return true if the positions are equivalent.
+	 */
+	public boolean isEquivalent(Board other){
+		if (canonicalHash != other.canonicalHash || numberOfSegments != other.numberOfSegments ||
+				nimSum != other.nimSum){
+			return false;
+		}
+		int maxLength = Math.max(segmentCounts.length, other.segmentCounts.length);
+		for (int length = 1; length < maxLength; length++){
+			if (getNumberOfSegmentsOfLength(length) != other.getNumberOfSegmentsOfLength(length)){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the canonical form of the position: the lengths of its segments from the longest to the
+	 * shortest. Two positions are equivalent (see isEquivalent) exactly when their canonical forms are
+	 * equal.
+	 * @return a new array of the segment lengths, in decreasing order.
+	 */
+	public int[] getCanonicalForm(){
+		int[] form = new int[numberOfSegments];
+		int index = 0;
+		for (int length = segmentCounts.length - 1; length > 0; length--){
+			for (int i = 0; i < segmentCounts[length]; i++){
+				form[index++] = length;
+			}
+		}
+		return form;
+	}
+
+	/**
+	 * @return true if the other object is a board of the same shape with the same sticks marked. A board is
+	 * mutable, so one kept as a key of a hash table must not be changed.
+	 */
+	@Override
+	public boolean equals(Object other){
+		if (this == other){
+			return true;
+		}
+		if (!(other instanceof Board)){
+			return false;
+		}
+		Board board = (Board) other;
+		return positionHash == board.positionHash && Arrays.equals(gameBoard, board.gameBoard) &&
+				shape.equals(board.shape);
+	}
+
+	/**
+	 * @return the Zobrist hash of the position folded into an int, see getPositionHash.
+	 */
+	@Override
+	public int hashCode(){
+		return (int) (positionHash ^ (positionHash >>> 32));
+	}
+}
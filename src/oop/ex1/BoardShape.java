@@ -0,0 +1,226 @@
+package oop.ex1;
+
+import java.util.Arrays;
+
+/**
+ * The BoardShape class describes the geometry of a Nim board: the number of rows and the number of sticks in
+ * each of them. Everything derived from the geometry (the total number of sticks, the bitmasks and legal
+ * move counts of a clear board, the number of bits needed to write a row length in binary) is computed once
+ * when the shape is created, and is then shared by every board, player and competition of that shape. The
+ * same goes for the canonical Move instances of the shape, allocated together the first time a move is asked
+ * for. A shape is immutable, so a single instance can be used by any number of threads.
+ */
+public class BoardShape {
+
+	/** The largest number of sticks a row can hold, one bit of a long per stick. */
+	public static final int MAX_ROW_LENGTH = Long.SIZE;
+
+	/** The shape of the standard board, rows of 9, 7, 5, 3 and 1 sticks. */
+	public static final BoardShape STANDARD = new BoardShape(9, 7, 5, 3, 1);
+
+	private final int[] rowLengths;
+	private final int maxRowLength;
+	private final int numberOfSticks;
+	private final int binaryLength;
+	private final long[] clearRows;
+	private final int[] clearRowLegalMoves;
+	private final int numberOfLegalMoves;
+	private final int[] rowMoveOffsets; // the index of the first move of every row in the move table.
+	private volatile Move[] moveTable; // every move inside the shape, null until first asked for.
+	private final int[] rowKeyOffsets; // the index of the first key prefix of every row.
+	private final long[] stickKeyPrefixes; // per row, the XOR of the keys of its first 0, 1, ... sticks.
+	private final long clearCanonicalHash;
+
+	/**
+	 * Creates a shape with the given row lengths, from the first row to the last.
+	 * @param rowLengths the number of sticks in each row, between 1 and MAX_ROW_LENGTH.
+	 * @throws IllegalArgumentException if there are no rows, or if a row length is out of range.
+	 */
+	public BoardShape(int... rowLengths){
+		if (rowLengths.length == 0){
+			throw new IllegalArgumentException("A board must have at least one row.");
+		}
+		this.rowLengths = rowLengths.clone();
+		clearRows = new long[rowLengths.length];
+		clearRowLegalMoves = new int[rowLengths.length];
+		rowMoveOffsets = new int[rowLengths.length + 1];
+		rowKeyOffsets = new int[rowLengths.length + 1];
+		int maxLength = 0, sticks = 0, legalMoves = 0;
+		for (int i = 0; i < rowLengths.length; i++){
+			int length = rowLengths[i];
+			if (length < 1 || length > MAX_ROW_LENGTH){
+				throw new IllegalArgumentException("Row " + (i+1) + " has " + length +
+						" sticks, a row must have between 1 and " + MAX_ROW_LENGTH + " sticks.");
+			}
+			maxLength = Math.max(maxLength, length);
+			sticks += length;
+			clearRows[i] = Board.sequenceMask(1, length);
+			clearRowLegalMoves[i] = Board.countLegalMoves(clearRows[i]);
+			legalMoves += clearRowLegalMoves[i];
+			rowMoveOffsets[i+1] = rowMoveOffsets[i] + length * length;
+			rowKeyOffsets[i+1] = rowKeyOffsets[i] + length + 1;
+		}
+		maxRowLength = maxLength;
+		numberOfSticks = sticks;
+		numberOfLegalMoves = legalMoves;
+		binaryLength = Integer.SIZE - Integer.numberOfLeadingZeros(maxLength);
+
+		stickKeyPrefixes = new long[rowKeyOffsets[rowLengths.length]];
+		long canonicalHash = 0;
+		for (int row = 1; row <= rowLengths.length; row++){
+			int offset = rowKeyOffsets[row-1];
+			for (int stick = 1; stick <= rowLengths[row-1]; stick++){
+				stickKeyPrefixes[offset + stick] = stickKeyPrefixes[offset + stick-1] ^
+						Zobrist.stickKey(row, stick);
+			}
+			canonicalHash += Zobrist.segmentKey(rowLengths[row-1]);
+		}
+		clearCanonicalHash = canonicalHash;
+	}
+
+	/**
+	 * Parses a shape written as comma separated row lengths, e.g. "9,7,5,3,1".
+	 * @param description the row lengths of the shape.
+	 * @return the described shape.
+	 * @throws IllegalArgumentException if the description is not a legal shape.
+	 */
+	public static BoardShape parse(String description){
+		String[] rows = description.split(",");
+		int[] rowLengths = new int[rows.length];
+		for (int i = 0; i < rows.length; i++){
+			rowLengths[i] = Integer.parseInt(rows[i].trim());
+		}
+		return new BoardShape(rowLengths);
+	}
+
+	/**
+	 * @return the number of rows in a board of this shape.
+	 */
+	public int getNumberOfRows(){
+		return rowLengths.length;
+	}
+
+	/**
+	 * Returns the number of sticks in the given row. Assumes a legal row number.
+	 */
+	public int getRowLength(int row){
+		return rowLengths[row-1];
+	}
+
+	/**
+	 * @return the number of sticks in the longest row.
+	 */
+	public int getMaxRowLength(){
+		return maxRowLength;
+	}
+
+	/**
+	 * @return the total number of sticks in a board of this shape.
+	 */
+	public int getNumberOfSticks(){
+		return numberOfSticks;
+	}
+
+	/**
+	 * @return the number of bits needed to write the length of the longest row in binary.
+	 */
+	public int getBinaryLength(){
+		return binaryLength;
+	}
+
+	/**
+	 * @return the number of legal moves on a clear board of this shape.
+	 */
+	public int getNumberOfLegalMoves(){
+		return numberOfLegalMoves;
+	}
+
+	/**
+	 * @return the row bitmasks of a clear board, shared and not to be changed.
+	 */
+	long[] getClearRows(){
+		return clearRows;
+	}
+
+	/**
+	 * @return the number of legal moves in every row of a clear board, shared and not to be changed.
+	 */
+	int[] getClearRowLegalMoves(){
+		return clearRowLegalMoves;
+	}
+
+	/**
+	 * Returns the canonical instance of a move inside the shape. Assumes a legal row and
+	 * 1 <= leftBound <= rightBound <= the length of the row, see Move.of.
+	 */
+	Move getMove(int row, int leftBound, int rightBound){
+		Move[] moves = moveTable;
+		if (moves == null){
+			moves = createMoveTable();
+		}
+		return moves[rowMoveOffsets[row-1] + (leftBound-1) * rowLengths[row-1] + rightBound-1];
+	}
+
+	/**
+	 * Returns the XOR of the Zobrist keys of the sticks leftBound to rightBound of a row, which a move
+	 * marking (or unmarking) them changes the Zobrist hash of a board by. Assumes a move inside the shape.
+	 */
+	long getSequenceKey(int row, int leftBound, int rightBound){
+		int offset = rowKeyOffsets[row-1];
+		return stickKeyPrefixes[offset + rightBound] ^ stickKeyPrefixes[offset + leftBound-1];
+	}
+
+	/**
+	 * @return the canonical hash of a clear board of the shape, see Board.getCanonicalHash.
+	 */
+	long getClearCanonicalHash(){
+		return clearCanonicalHash;
+	}
+
+	/**
+	 * Allocates the moves of the shape, once even if several threads ask for them together.
+	 */
+	private synchronized Move[] createMoveTable(){
+		if (moveTable == null){
+			Move[] moves = new Move[rowMoveOffsets[rowLengths.length]];
+			for (int row = 1; row <= rowLengths.length; row++){
+				int length = rowLengths[row-1];
+				for (int left = 1; left <= length; left++){
+					for (int right = left; right <= length; right++){
+						moves[rowMoveOffsets[row-1] + (left-1) * length + right-1] =
+								new Move(row, left, right);
+					}
+				}
+			}
+			moveTable = moves;
+		}
+		return moveTable;
+	}
+
+	/**
+	 * @return true if the other object is a shape with the same row lengths.
+	 */
+	@Override
+	public boolean equals(Object other){
+		return other instanceof BoardShape && Arrays.equals(rowLengths, ((BoardShape) other).rowLengths);
+	}
+
+	@Override
+	public int hashCode(){
+		return Arrays.hashCode(rowLengths);
+	}
+
+	/**
+	 * @return the row lengths, comma separated.
+	 */
+	public String toString(){
+		StringBuilder description = new StringBuilder();
+		for (int i = 0; i < rowLengths.length; i++){
+			if (i > 0){
+				description.append(',');
+			}
+			description.append(rowLengths[i]);
+		}
+		return description.toString();
+	}
+}
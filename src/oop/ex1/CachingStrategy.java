@@ -0,0 +1,76 @@
+package oop.ex1;
+
+import java.util.SplittableRandom;
+
+/**
+ * A strategy wrapped in a MoveCache: a position the strategy was already asked about is answered from the
+ * cache. Only the positions the strategy always plays the same move on are cached (see
+ * Strategy.isDeterministic), so wrapping a strategy never changes the moves it plays. The cache of a player
+ * type is set with StrategyRegistry.setMoveCache, and shared by all the players of the type.
+ */
+public final class CachingStrategy implements Strategy {
+
+	private final Strategy strategy;
+	private final MoveCache cache;
+
+	/**
+	 * @param strategy the strategy to wrap.
+	 * @param cache the cache of the moves of the strategy, which must not hold moves of other strategies.
+	 */
+	public CachingStrategy(Strategy strategy, MoveCache cache){
+		this.strategy = strategy;
+		this.cache = cache;
+	}
+
+	@Override
+	public Move produceMove(Board board, SplittableRandom random){
+		if (!strategy.isDeterministic(board)){
+			return strategy.produceMove(board, random);
+		}
+		Move move = cache.get(board);
+		if (move == null){
+			move = strategy.produceMove(board, random);
+			if (move != null){
+				cache.put(board, move);
+			}
+		}
+		return move;
+	}
+
+	@Override
+	public String getName(){
+		return strategy.getName();
+	}
+
+	@Override
+	public boolean playsPerfectly(Board board){
+		return strategy.playsPerfectly(board);
+	}
+
+	@Override
+	public boolean isDeterministic(Board board){
+		return strategy.isDeterministic(board);
+	}
+
+	/**
+	 * Closes the wrapped strategy, the cache is shared and stays open.
+	 */
+	@Override
+	public void close(){
+		strategy.close();
+	}
+
+	/**
+	 * @return the wrapped strategy.
+	 */
+	public Strategy getStrategy(){
+		return strategy;
+	}
+
+	/**
+	 * @return the cache of the strategy.
+	 */
+	public MoveCache getCache(){
+		return cache;
+	}
+}
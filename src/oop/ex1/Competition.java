@@ -0,0 +1,641 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Competition class represents a Nim competition between two players, consisting of a given number of
+ * rounds. It also keeps track of the number of victories of each player.
+ */
+public class Competition {
+
+	private static final int PLAYER1 = 1;
+	private static final int PLAYER2 = 2;
+	private static final int HUMAN = 4;
+	private static final String THREADS_OPTION = "threads=";
+	private static final String BOARD_OPTION = "board=";
+	private static final String RECORD_OPTION = "record=";
+	private static final String METRICS_OPTION = "metrics=";
+	private static final String TABLEBASE_OPTION = "tablebase=";
+	private static final String BATCH_OPTION = "batch=";
+	private static final String SEED_OPTION = "seed=";
+	private static final String TIMEOUT_OPTION = "timeout=";
+	private static final String ON_TIMEOUT_OPTION = "onTimeout=";
+	private static final String FAST_FORWARD_OPTION = "fastForward=";
+	private static final String MCTS_OPTION = "mcts=";
+	private static final String MCTS_TIME_OPTION = "mctsTime=";
+	private static final String MCTS_THREADS_OPTION = "mctsThreads=";
+	private static final String CACHE_OPTION = "cache=";
+	private static final String FORFEIT = "forfeit";
+	private static final String RANDOM = "random";
+
+	/** Spreads consecutive round numbers over the seed space, the golden ratio in 64 bits. */
+	private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+	private Player player1, player2;
+	private final BoardShape shape;
+	private GameRecorder recorder;
+	private CompetitionMetrics metrics; // null when the competition is not measured.
+	private Path metricsFile;
+	private LatencyHistogram p1Latency, p2Latency;
+	private Long seed; // null when the players keep their own random generators.
+	private int nextRound; // the number of the next round in the seeded run.
+	private boolean fastForward;
+	private boolean displayMessage;
+	private PrintStream out = System.out;
+	private int p1Score;
+	private int p2Score;
+
+	/* You need to implement this class */
+
+	/**
+	 * The method runs a Nim competition between two players according to the three user-specified arguments.
+	 * (1) The type of the first player, which is a positive integer between 1 and 6: 1 for a Random computer
+	 *     player, 2 for a Heuristic computer player, 3 for a Smart computer player, 4 for a human player, 5
+	 *     for a Tablebase computer player and 6 for an MCTS computer player (or the id of a type registered
+	 *     later, see StrategyRegistry); or the name of the type, like "smart".
+	 * (2) The type of the second player, given the same way.
+	 * (3) The number of rounds to be played in the competition.
+	 * Optionally followed by:
+	 * "threads=N", which splits the rounds of a competition between two computer players across N worker
+	 *     threads.
+	 * "board=L1,L2,...", which plays on a board whose rows have L1, L2, ... sticks instead of the standard
+	 *     one.
+	 * "record=FILE", which records every round and move of a (non parallel) competition into FILE, to be
+	 *     read with a GameRecordReader.
+	 * "tablebase=FILE", which opens the tablebase of the Tablebase players from FILE instead of
+	 *     Tablebase.DEFAULT_PATH.
+	 * "metrics=FILE", which measures the competition and writes the metrics into FILE as JSON at its end.
+	 * "batch=N", which plays the rounds of a competition between two computer players N at a time in
+	 *     lockstep, see BatchedSelfPlay.
+	 * "seed=S", which derives the random generators of the players in every round from the number S, so that
+	 *     the competition is reproduced exactly by running it again with the same seed, with any number of
+	 *     threads or batch size.
+	 * "timeout=SECONDS", which gives human players the given number of seconds to complete each move, their
+	 *     input being read on a thread of its own.
+	 * "onTimeout=random" or "onTimeout=forfeit", what happens when the time of a human player is up: a
+	 *     random move is played for him (the default) or he forfeits the round.
+	 * "fastForward=true", which decides a round as soon as both players play it perfectly, without playing
+	 *     its remaining moves (see setFastForward).
+	 * "mcts=N", "mctsTime=MILLIS" and "mctsThreads=T", the budget of the MCTS players: N iterations of the
+	 *     search of every move (20000 by default), or its time instead, on T threads (1 by default).
+	 * "cache=N", which caches up to N moves of every computer player type of the competition, shared by all
+	 *     the players of the type and all the threads (see StrategyRegistry.setMoveCache), and prints the
+	 *     counters of the caches at the end.
+	 * @param args an array of string representations of the three input arguments, as detailed above.
+	 */
+	public static void main(String[] args) throws IOException {
+
+
+		int p1Type = 0, p2Type = 0;
+		try {
+			p1Type = StrategyRegistry.resolve(args[0]);
+			p2Type = StrategyRegistry.resolve(args[1]);
+		} catch (IllegalArgumentException e){
+			System.out.println(e.getMessage() + " Terminating.");
+			System.exit(-1);
+		}
+		int numGames = Integer.parseInt(args[2]);
+		int numThreads = 1;
+		BoardShape shape = BoardShape.STANDARD;
+		String recordFile = null;
+		String metricsFile = null;
+		int batchSize = 0;
+		Long seed = null;
+		long timeoutMillis = 0;
+		int timeoutFallback = Player.FALLBACK_RANDOM;
+		boolean fastForward = false;
+		int mctsIterations = MctsStrategy.DEFAULT_ITERATIONS;
+		long mctsMillis = 0;
+		int mctsThreads = 1;
+		int cacheCapacity = 0;
+		for (int i = 3; i < args.length; i++){
+			if (args[i].startsWith(THREADS_OPTION)){
+				numThreads = Integer.parseInt(args[i].substring(THREADS_OPTION.length()));
+			} else if (args[i].startsWith(BOARD_OPTION)){
+				try {
+					shape = BoardShape.parse(args[i].substring(BOARD_OPTION.length()));
+				} catch (IllegalArgumentException e){
+					System.out.println("Received an illegal board shape: " + e.getMessage() +
+							" Terminating.");
+					System.exit(-1);
+				}
+			} else if (args[i].startsWith(RECORD_OPTION)){
+				recordFile = args[i].substring(RECORD_OPTION.length());
+			} else if (args[i].startsWith(METRICS_OPTION)){
+				metricsFile = args[i].substring(METRICS_OPTION.length());
+			} else if (args[i].startsWith(TABLEBASE_OPTION)){
+				Tablebase.setShared(Tablebase.open(Paths.get(args[i].substring(TABLEBASE_OPTION.length()))));
+			} else if (args[i].startsWith(BATCH_OPTION)){
+				batchSize = Integer.parseInt(args[i].substring(BATCH_OPTION.length()));
+			} else if (args[i].startsWith(SEED_OPTION)){
+				seed = Long.parseLong(args[i].substring(SEED_OPTION.length()));
+			} else if (args[i].startsWith(TIMEOUT_OPTION)){
+				long timeoutSeconds = Long.parseLong(args[i].substring(TIMEOUT_OPTION.length()));
+				timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+			} else if (args[i].startsWith(FAST_FORWARD_OPTION)){
+				fastForward = Boolean.parseBoolean(args[i].substring(FAST_FORWARD_OPTION.length()));
+			} else if (args[i].startsWith(CACHE_OPTION)){
+				cacheCapacity = Integer.parseInt(args[i].substring(CACHE_OPTION.length()));
+			} else if (args[i].startsWith(MCTS_OPTION)){
+				mctsIterations = Integer.parseInt(args[i].substring(MCTS_OPTION.length()));
+			} else if (args[i].startsWith(MCTS_TIME_OPTION)){
+				mctsMillis = Long.parseLong(args[i].substring(MCTS_TIME_OPTION.length()));
+			} else if (args[i].startsWith(MCTS_THREADS_OPTION)){
+				mctsThreads = Integer.parseInt(args[i].substring(MCTS_THREADS_OPTION.length()));
+			} else if (args[i].startsWith(ON_TIMEOUT_OPTION)){
+				String fallback = args[i].substring(ON_TIMEOUT_OPTION.length());
+				if (fallback.equals(FORFEIT)){
+					timeoutFallback = Player.FALLBACK_FORFEIT;
+				} else if (!fallback.equals(RANDOM)){
+					System.out.println("Received an unknown timeout fallback: " + fallback +
+							". Terminating.");
+					System.exit(-1);
+				}
+			}
+		}
+
+		try {
+			MctsStrategy.setDefaultBudget(mctsIterations, mctsMillis, mctsThreads);
+			if (cacheCapacity != 0){
+				for (int type : new int[] {p1Type, p2Type}){
+					if (type != HUMAN && StrategyRegistry.getMoveCache(type) == null){
+						StrategyRegistry.setMoveCache(type, new MoveCache(cacheCapacity));
+					}
+				}
+			}
+		} catch (IllegalArgumentException e){
+			System.out.println(e.getMessage() + " Terminating.");
+			System.exit(-1);
+		}
+
+		Scanner scanner = new Scanner(System.in);
+
+		Player player1 = new Player(p1Type,PLAYER1,scanner,shape);
+		Player player2 = new Player(p2Type,PLAYER2,scanner,shape);
+		if (timeoutMillis > 0){
+			HumanInputReader humanInput = new HumanInputReader(scanner);
+			player1.setHumanInput(humanInput, timeoutMillis, timeoutFallback);
+			player2.setHumanInput(humanInput, timeoutMillis, timeoutFallback);
+		}
+
+		boolean verboseMode = false;
+		if (player1.getPlayerType() == HUMAN || player2.getPlayerType() == HUMAN) verboseMode = true;
+
+		Competition competition = new Competition(player1, player2, verboseMode, shape);
+		if (seed != null){
+			competition.setSeed(seed);
+		}
+		competition.setFastForward(fastForward);
+		if (metricsFile != null){
+			competition.setMetrics(new CompetitionMetrics(), Paths.get(metricsFile));
+		}
+		if (batchSize > 0){
+			if (verboseMode){
+				System.out.println("Human players can not take part in a batched competition. Terminating.");
+				System.exit(-1);
+			}
+			if (numThreads > 1 || recordFile != null || metricsFile != null || fastForward){
+				System.out.println("Batched competitions can not be parallel, recorded, measured or fast " +
+						"forwarded. Terminating.");
+				System.exit(-1);
+			}
+			BatchedSelfPlay engine = null;
+			try {
+				engine = new BatchedSelfPlay(p1Type, p2Type, shape, batchSize,
+						seed != null ? seed : new SplittableRandom().nextLong());
+			} catch (IllegalArgumentException e){
+				System.out.println(e.getMessage() + " Terminating.");
+				System.exit(-1);
+			}
+			try (BatchedSelfPlay batchedEngine = engine){
+				competition.playMultipleRounds(numGames, batchedEngine);
+			}
+		} else if (numThreads > 1){
+			if (verboseMode){
+				System.out.println("Human players can not take part in a parallel competition. " +
+						"Terminating.");
+				System.exit(-1);
+			}
+			if (recordFile != null){
+				System.out.println("Parallel competitions can not be recorded. Terminating.");
+				System.exit(-1);
+			}
+			ForkJoinPool pool = new ForkJoinPool(numThreads);
+			competition.playMultipleRounds(numGames, pool);
+			pool.shutdown();
+		} else if (recordFile != null){
+			if (fastForward){
+				System.out.println("Fast forwarded competitions can not be recorded. Terminating.");
+				System.exit(-1);
+			}
+			competition.playMultipleRounds(numGames, Paths.get(recordFile));
+		} else competition.playMultipleRounds(numGames);
+		reportRollouts(player1);
+		reportRollouts(player2);
+		reportMoveCache(player1);
+		if (p2Type != p1Type) reportMoveCache(player2);
+		player1.close();
+		player2.close();
+
+		scanner.close();
+	}
+
+	/**
+	 * Prints the rollouts per second of an MCTS player, if it searched any move. In a parallel competition
+	 * these are the rollouts of the players of all the tasks, added to it with the scores.
+	 */
+	private static void reportRollouts(Player player){
+		if (player.getBaseStrategy() instanceof MctsStrategy){
+			MctsStrategy mcts = (MctsStrategy) player.getBaseStrategy();
+			if (mcts.getRollouts() > 0){
+				System.out.println(String.format("Player %d played %d rollouts, %.0f per second on %d " +
+						"threads.", player.getPlayerId(), mcts.getRollouts(), mcts.getRolloutsPerSecond(),
+						mcts.getNumberOfThreads()));
+			}
+		}
+	}
+
+	/**
+	 * Prints the counters of the move cache of the type of a player, if its moves are cached and were ever
+	 * looked up (the moves of a Random player, for one, never are).
+	 */
+	private static void reportMoveCache(Player player){
+		MoveCache cache = StrategyRegistry.getMoveCache(player.getPlayerType());
+		if (cache != null && cache.getHits() + cache.getMisses() > 0){
+			System.out.println("Move cache of the " + player.getTypeName() + " players: " + cache + ".");
+		}
+	}
+
+	/**
+	 * A competition on standard boards.
+	 * @param player1 first player
+	 * @param player2 second player to compete against
+	 * @param displayMessage true if user wants to display massages regarding moves, false if not.
+	 */
+	public Competition(Player player1, Player player2, boolean displayMessage){
+		this(player1, player2, displayMessage, BoardShape.STANDARD);
+	}
+
+	/**
+	 *
+	 * @param player1 first player
+	 * @param player2 second player to compete against
+	 * @param displayMessage true if user wants to display massages regarding moves, false if not.
+	 * @param shape the shape of the boards every round is played on.
+	 */
+	public Competition(Player player1, Player player2, boolean displayMessage, BoardShape shape){
+		this.shape = shape;
+		p1Score = 0;
+		p2Score = 0;
+		this.player1 = player1;
+		this.player2 = player2;
+		this.displayMessage = displayMessage;
+
+	}
+
+	/**
+	 * Prints the messages of the competition to the given stream instead of the standard output.
+	 * @param out the stream to print to.
+	 */
+	public void setOutput(PrintStream out){
+		this.out = out;
+	}
+
+	/**
+	 * Streams every round and legal move played from now on to the given recorder, or stops recording if
+	 * null is given. The recorder is not closed by the competition.
+	 * @param recorder the recorder to write to.
+	 */
+	public void setGameRecorder(GameRecorder recorder){
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Seeds the random generators of the players anew before every round, with a seed derived from the given
+	 * one and the number of the round, counted from the first round played from now on. Every round is then
+	 * a function of the seed and its number alone, whichever thread or batch plays it.
+	 * @param seed the seed of the whole competition.
+	 */
+	public void setSeed(long seed){
+		setSeed(seed, 0);
+	}
+
+	/**
+	 * Seeds the rounds as above, numbering the first round played from now on by the given number.
+	 * @param seed the seed of the whole competition.
+	 * @param firstRound the number of the next round played.
+	 */
+	void setSeed(long seed, int firstRound){
+		this.seed = seed;
+		nextRound = firstRound;
+	}
+
+	/**
+	 * Turns fast forwarding on or off. When it is on, a round is decided as soon as both players play
+	 * perfectly from its position (see Player.playsPerfectly): its winner is the player to move if the
+	 * position is a winning one (see NimSolver.isWinningByNimSum) and the other player otherwise, exactly as
+	 * if the round was played out, but the remaining moves are not played. Between two Smart or Tablebase
+	 * players this decides every round before its first move. Rounds decided this way are not complete in a
+	 * game record.
+	 * @param fastForward true to fast forward rounds.
+	 */
+	public void setFastForward(boolean fastForward){
+		this.fastForward = fastForward;
+	}
+
+	/**
+	 * Derives the seed of the random generator of a player in a round from the seed of a whole competition.
+	 * The derivation is the finalizer of SplitMix64, so the seeds of neighbouring rounds are unrelated.
+	 * @param seed the seed of the competition.
+	 * @param round the number of the round in the competition, from 0.
+	 * @param playerId the id of the player (either 1 or 2).
+	 * @return the seed of the player in the round.
+	 */
+	static long roundSeed(long seed, int round, int playerId){
+		long z = seed + SEED_INCREMENT * (2L * round + playerId);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Measures the competition from now on into the given metrics, or stops measuring if null is given.
+	 * @param metrics the metrics to collect into.
+	 * @param jsonFile a file the metrics are written into as JSON at the end of playMultipleRounds, or null.
+	 */
+	public void setMetrics(CompetitionMetrics metrics, Path jsonFile){
+		this.metrics = metrics;
+		this.metricsFile = jsonFile;
+		if (metrics != null){
+			p1Latency = metrics.getMoveLatencyHistogram(player1.getTypeName());
+			p2Latency = metrics.getMoveLatencyHistogram(player2.getTypeName());
+		}
+	}
+
+	/**
+	 * @return the metrics the competition is measured into, or null if it is not measured.
+	 */
+	public CompetitionMetrics getMetrics(){
+		return metrics;
+	}
+
+	/**
+	 *Run the game for the given number of rounds.
+	 * @param numRounds number of rounds to play the competition for.
+	 */
+	public void playMultipleRounds(int numRounds){
+		printStartMessage(numRounds);
+		if (metrics != null) metrics.startClock();
+		playRounds(numRounds);
+		if (metrics != null) metrics.stopClock();
+		printResults();
+		writeMetrics();
+	}
+
+	/**
+	 * Run the game for the given number of rounds, splitting the rounds between the workers of the given
+	 * pool. Every worker plays its share of the rounds with its own pair of players (and so its own random
+	 * generators), and the partial scores are added to this competition when all the workers are done. In a
+	 * seeded competition every round is seeded by its number, so the scores do not depend on the pool.
+	 * Only computer players can take part in a parallel competition.
+	 * @param numRounds number of rounds to play the competition for.
+	 * @param pool the pool whose threads play the rounds.
+	 * @throws IllegalArgumentException if one of the players is a human player.
+	 */
+	public void playMultipleRounds(int numRounds, ForkJoinPool pool){
+		if (player1.getPlayerType() == HUMAN || player2.getPlayerType() == HUMAN){
+			throw new IllegalArgumentException("Human players can not take part in a parallel competition.");
+		}
+		printStartMessage(numRounds);
+		if (metrics != null) metrics.startClock();
+		Competition partialResult = pool.invoke(new CompetitionTask(player1.getPlayerType(),
+				player2.getPlayerType(), nextRound, numRounds, shape, metrics != null, seed, fastForward));
+		nextRound += numRounds;
+		addScores(partialResult);
+		if (metrics != null) metrics.stopClock();
+		printResults();
+		writeMetrics();
+	}
+
+	/**
+	 * Run the game for the given number of rounds, recording every round and legal move into the given file
+	 * (see GameRecorder). The file is flushed and closed when the rounds end, even if one of them throws,
+	 * and the rounds played up to then stay readable.
+	 * @param numRounds number of rounds to play the competition for.
+	 * @param recordFile the file to record the rounds into, replaced if it exists.
+	 * @throws IOException if the file can not be written.
+	 */
+	public void playMultipleRounds(int numRounds, Path recordFile) throws IOException {
+		try (GameRecorder gameRecorder = new GameRecorder(recordFile, shape)){
+			setGameRecorder(gameRecorder);
+			playMultipleRounds(numRounds);
+		} finally {
+			setGameRecorder(null);
+		}
+	}
+
+	/**
+	 * Run the game for the given number of rounds on the given batched engine, which must be playing the
+	 * types of the players of this competition on boards of its shape.
+	 * @param numRounds number of rounds to play the competition for.
+	 * @param engine the engine playing the rounds.
+	 */
+	public void playMultipleRounds(int numRounds, BatchedSelfPlay engine){
+		printStartMessage(numRounds);
+		int p1Before = engine.getPlayerScore(PLAYER1), p2Before = engine.getPlayerScore(PLAYER2);
+		engine.play(numRounds);
+		p1Score += engine.getPlayerScore(PLAYER1) - p1Before;
+		p2Score += engine.getPlayerScore(PLAYER2) - p2Before;
+		printResults();
+	}
+
+	/**
+	 * Runs the given number of rounds without printing the opening and closing messages.
+	 * @param numRounds number of rounds to play.
+	 */
+	void playRounds(int numRounds){
+		Board board = new Board(shape); // reset before every round instead of creating a new one.
+		for (int i=0; i < numRounds; i++){
+			board.reset();
+			if (seed != null){
+				player1.setSeed(roundSeed(seed, nextRound, PLAYER1));
+				player2.setSeed(roundSeed(seed, nextRound, PLAYER2));
+			}
+			nextRound++;
+			displayMessage("Welcome to the sticks game!");
+			if (recorder != null) recorder.recordRoundStart();
+			Player winner = playSingle(board);
+			addPoint(winner);
+			if (recorder != null) recorder.recordRoundEnd(winner.getPlayerId());
+
+		}
+	}
+
+	/**
+	 * Adds the scores of another competition between the same player types to the scores of this one, and
+	 * the rollouts of its MCTS players to those of the players of this one.
+	 * @param other the competition whose scores to add.
+	 */
+	void addScores(Competition other){
+		p1Score += other.p1Score;
+		p2Score += other.p2Score;
+		if (metrics != null && other.metrics != null) metrics.merge(other.metrics);
+		addSearches(player1, other.player1);
+		addSearches(player2, other.player2);
+	}
+
+	/**
+	 * Adds the rollouts of a player to those of another one, if both are MCTS players.
+	 */
+	private static void addSearches(Player player, Player other){
+		if (player != other && player.getBaseStrategy() instanceof MctsStrategy &&
+				other.getBaseStrategy() instanceof MctsStrategy){
+			((MctsStrategy) player.getBaseStrategy()).addSearches((MctsStrategy) other.getBaseStrategy());
+		}
+	}
+
+	/**
+	 * Writes the metrics into their JSON file, if the competition is measured into one.
+	 * @throws UncheckedIOException if the file can not be written.
+	 */
+	private void writeMetrics(){
+		if (metrics == null || metricsFile == null){
+			return;
+		}
+		try {
+			Files.write(metricsFile, metrics.getSnapshot().toJson().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Prints the message opening a competition.
+	 * @param numRounds number of rounds in the competition.
+	 */
+	private void printStartMessage(int numRounds){
+		out.println("Starting a Nim competition of "+numRounds+" rounds" +
+				" between a "+player1.getTypeName()+" player " +
+				"and a "+player2.getTypeName()+" player.");
+	}
+
+	/**
+	 * Prints the final scores of the competition.
+	 */
+	private void printResults(){
+		out.println("The results are "+getPlayerScore(PLAYER1)+":"+getPlayerScore(PLAYER2));
+	}
+
+	/**
+	 * A function that runs a single round of nim between two player of the competition.
+	 * @param board board object on which to play on (ideally blank at start)
+	 * @return the WINNER!!!!
+	 */
+	private Player playSingle(Board board){
+		Player currentPlayer = player1;
+		int numMoves = 0;
+		boolean forfeited = false;
+		while (!forfeited && board.getNumberOfUnmarkedSticks()> 0){
+			if (fastForward && currentPlayer.playsPerfectly(board) &&
+					otherPlayer(currentPlayer).playsPerfectly(board)){
+				Player winner = NimSolver.isWinningByNimSum(board) ? currentPlayer :
+						otherPlayer(currentPlayer);
+				displayMessage("Player "+winner.getPlayerId()+" won!");
+				if (metrics != null) metrics.recordRound(numMoves);
+				return winner;
+			}
+			displayMessage("Player "+currentPlayer.getPlayerId()+", it is now your turn!");
+			while (true){
+				Move playerMove;
+				if (metrics == null){
+					playerMove = currentPlayer.produceMove(board);
+				} else {
+					long start = System.nanoTime();
+					playerMove = currentPlayer.produceMove(board);
+					long latency = System.nanoTime() - start;
+					(currentPlayer == player1 ? p1Latency : p2Latency).record(latency);
+				}
+				if (playerMove == null){
+					displayMessage("Player "+currentPlayer.getPlayerId()+" forfeited the round.");
+					currentPlayer = otherPlayer(currentPlayer);
+					forfeited = true;
+					break;
+				}
+				int valid = board.markStickSequence(playerMove);
+				if (valid == 0){
+					numMoves++;
+					if (recorder != null) recorder.recordMove(currentPlayer.getPlayerId(), playerMove);
+					displayMessage("Player "+currentPlayer.getPlayerId()+
+							" made the move: "+playerMove);
+					currentPlayer = otherPlayer(currentPlayer);
+					break;
+
+				} else {
+					if (metrics != null) metrics.recordInvalidMove(valid);
+					displayMessage("Invalid move. Enter another:");
+
+				}
+			}
+		}
+		displayMessage("Player "+currentPlayer.getPlayerId()+" won!");
+		if (metrics != null) metrics.recordRound(numMoves);
+		return currentPlayer;
+
+	}
+
+	/**
+	 * gets score of the player.
+	 * @param playerPosition ID of the player
+	 * @return If playerPosition = 1, the results of the first player is returned. If playerPosition = 2,
+	 * the result of the second player is returned. If playerPosition equals neither, -1 is returned.
+	 */
+	public int getPlayerScore(int playerPosition){
+		if (playerPosition == 1){
+			return p1Score;
+		} else if (playerPosition == 2){
+			return p2Score;
+		}
+		return -1;
+	}
+
+	/**
+	 * takes a player, and adds a point to his score.
+	 * @param winner a player who won the round
+	 */
+	private void addPoint(Player winner){
+		if (winner.getPlayerId() == 1){
+			p1Score++;
+		} else p2Score++;
+	}
+
+	/**
+	 * A function alternating between two player.
+	 * @param currentPlayer the player whose currently plating
+	 * @return the player whose currently NOT playing
+	 */
+	private Player otherPlayer(Player currentPlayer){
+		if (currentPlayer.getPlayerId() == 1) return player2;
+		else return player1;
+	}
+
+	/**
+	 * If verbose mode is on for the competition, prints the string. If off, does nothing.
+	 * @param stringToDisplay the message to display to the user if verbose mode is on
+	 */
+	private void displayMessage(String stringToDisplay){
+		if (displayMessage) {
+			out.println(stringToDisplay);
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package oop.ex1;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The CompetitionMetrics class collects the measurements of a competition: how long every player type takes
+ * to produce a move, how many moves the board rejected and why, how many moves every round took and how many
+ * rounds were played per second. A competition only measures when it was given metrics to collect into, so
+ * without metrics it pays a single null check per move.
+ * Metrics are not thread safe; the workers of a parallel competition collect into metrics of their own,
+ * which are merged when the workers are done. getSnapshot returns an immutable copy which can be written as
+ * JSON.
+ */
+public class CompetitionMetrics {
+
+	private final Map<String, LatencyHistogram> moveLatencies = new LinkedHashMap<>();
+	private long[] movesPerRound = new long[0];
+	private long outOfBoundsMoves;
+	private long overlappingMoves;
+	private long rounds;
+	private long elapsedNanos;
+	private long startNanos;
+
+	/**
+	 * Returns the histogram the move latencies of the given player type are recorded in, creating it on the
+	 * first call. Players of the same type share a histogram.
+	 * @param typeName the name of the player type.
+	 * @return the histogram of the player type.
+	 */
+	public LatencyHistogram getMoveLatencyHistogram(String typeName){
+		LatencyHistogram histogram = moveLatencies.get(typeName);
+		if (histogram == null){
+			histogram = new LatencyHistogram();
+			moveLatencies.put(typeName, histogram);
+		}
+		return histogram;
+	}
+
+	/**
+	 * Records a move rejected by the board.
+	 * @param errorCode the error code returned by Board.markStickSequence, -1 or -2.
+	 */
+	public void recordInvalidMove(int errorCode){
+		if (errorCode == -1){
+			outOfBoundsMoves++;
+		} else {
+			overlappingMoves++;
+		}
+	}
+
+	/**
+	 * Records the end of a round.
+	 * @param numMoves the number of legal moves played in the round.
+	 */
+	public void recordRound(int numMoves){
+		ensureMovesPerRoundLength(numMoves + 1);
+		movesPerRound[numMoves]++;
+		rounds++;
+	}
+
+	/**
+	 * Starts the clock measuring the rounds per second.
+	 */
+	public void startClock(){
+		startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Stops the clock measuring the rounds per second, adding the time since startClock.
+	 */
+	public void stopClock(){
+		elapsedNanos += System.nanoTime() - startNanos;
+	}
+
+	/**
+	 * Adds everything collected by other metrics to these, except for the clock, which measures the time the
+	 * whole competition took.
+	 * @param other the metrics to add.
+	 */
+	public void merge(CompetitionMetrics other){
+		for (Map.Entry<String, LatencyHistogram> entry : other.moveLatencies.entrySet()){
+			getMoveLatencyHistogram(entry.getKey()).merge(entry.getValue());
+		}
+		ensureMovesPerRoundLength(other.movesPerRound.length);
+		for (int numMoves = 0; numMoves < other.movesPerRound.length; numMoves++){
+			movesPerRound[numMoves] += other.movesPerRound[numMoves];
+		}
+		rounds += other.rounds;
+		outOfBoundsMoves += other.outOfBoundsMoves;
+		overlappingMoves += other.overlappingMoves;
+	}
+
+	/**
+	 * Grows the moves per round distribution to hold at least the given number of entries.
+	 */
+	private void ensureMovesPerRoundLength(int length){
+		if (length > movesPerRound.length){
+			long[] grown = new long[Math.max(length, 2 * movesPerRound.length)];
+			System.arraycopy(movesPerRound, 0, grown, 0, movesPerRound.length);
+			movesPerRound = grown;
+		}
+	}
+
+	/**
+	 * @return an immutable copy of the metrics collected so far.
+	 */
+	public MetricsSnapshot getSnapshot(){
+		return new MetricsSnapshot(moveLatencies, movesPerRound, outOfBoundsMoves, overlappingMoves, rounds,
+				elapsedNanos);
+	}
+}
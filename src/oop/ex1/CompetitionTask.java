@@ -0,0 +1,90 @@
+package oop.ex1;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A fork-join task playing a share of the rounds of a parallel competition. The task keeps splitting its
+ * rounds in half until they are few enough to be played by a single worker, which then plays them on a
+ * competition of its own, with new players of the given types. The result of the task is a competition
+ * holding the total scores (and metrics and MCTS rollouts, if any) of all the rounds the task was
+ * responsible for.
+ */
+public class CompetitionTask extends RecursiveTask<Competition> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The number of rounds below which a task plays its rounds instead of splitting them. */
+	private static final int ROUNDS_PER_WORKER = 10000;
+
+	private final int p1Type;
+	private final int p2Type;
+	private final int firstRound;
+	private final int numRounds;
+	private final BoardShape shape;
+	private final boolean collectMetrics;
+	private final Long seed;
+	private final boolean fastForward;
+
+	/**
+	 * @param p1Type the type of the first player.
+	 * @param p2Type the type of the second player.
+	 * @param numRounds the number of rounds this task is responsible for.
+	 * @param shape the shape of the boards the rounds are played on.
+	 * @param collectMetrics true if the rounds should be measured into metrics of their own.
+	 */
+	public CompetitionTask(int p1Type, int p2Type, int numRounds, BoardShape shape, boolean collectMetrics){
+		this(p1Type, p2Type, 0, numRounds, shape, collectMetrics, null, false);
+	}
+
+	/**
+	 * @param p1Type the type of the first player.
+	 * @param p2Type the type of the second player.
+	 * @param firstRound the number of the first round of the task in the competition.
+	 * @param numRounds the number of rounds this task is responsible for.
+	 * @param shape the shape of the boards the rounds are played on.
+	 * @param collectMetrics true if the rounds should be measured into metrics of their own.
+	 * @param seed the seed of the competition (see Competition.setSeed), or null if the rounds are not
+	 * seeded.
+	 * @param fastForward true if the rounds are fast forwarded (see Competition.setFastForward).
+	 */
+	public CompetitionTask(int p1Type, int p2Type, int firstRound, int numRounds, BoardShape shape,
+			boolean collectMetrics, Long seed, boolean fastForward){
+		this.p1Type = p1Type;
+		this.p2Type = p2Type;
+		this.firstRound = firstRound;
+		this.numRounds = numRounds;
+		this.shape = shape;
+		this.collectMetrics = collectMetrics;
+		this.seed = seed;
+		this.fastForward = fastForward;
+	}
+
+	/**
+	 * Plays the rounds of the task, splitting them between two sub tasks if there are too many of them.
+	 * @return a competition holding the scores of the rounds.
+	 */
+	@Override
+	protected Competition compute(){
+		if (numRounds <= ROUNDS_PER_WORKER){
+			// the players are closed once their rounds are played, their scores and counters stay readable.
+			try (Player player1 = new Player(p1Type, 1, null, shape);
+				 Player player2 = new Player(p2Type, 2, null, shape)){
+				Competition competition = new Competition(player1, player2, false, shape);
+				if (collectMetrics) competition.setMetrics(new CompetitionMetrics(), null);
+				if (seed != null) competition.setSeed(seed, firstRound);
+				competition.setFastForward(fastForward);
+				competition.playRounds(numRounds);
+				return competition;
+			}
+		}
+		int half = numRounds / 2;
+		CompetitionTask firstHalf = new CompetitionTask(p1Type, p2Type, firstRound, half, shape,
+				collectMetrics, seed, fastForward);
+		CompetitionTask secondHalf = new CompetitionTask(p1Type, p2Type, firstRound + half, numRounds - half,
+				shape, collectMetrics, seed, fastForward);
+		firstHalf.fork();
+		Competition result = secondHalf.compute();
+		result.addScores(firstHalf.join());
+		return result;
+	}
+}
@@ -0,0 +1,220 @@
+package oop.ex1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameRecordReader class reads a file written by a GameRecorder one record at a time. The fields of the
+ * last record read are available through the getters, and replay applies every record to a board, so the
+ * recorded rounds can be followed move by move. See GameRecorder for the format of the file.
+ */
+public class GameRecordReader implements Closeable {
+
+	/** Returned by next when a round starts. */
+	public static final int ROUND_START = 1;
+	/** Returned by next when a move was read. */
+	public static final int MOVE = 2;
+	/** Returned by next when a round ends. */
+	public static final int ROUND_END = 3;
+	/** Returned by next when there are no more records. */
+	public static final int END_OF_RECORDS = 0;
+
+	/** The size of the buffer the file is read through. */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** The size of the largest record. */
+	private static final int MAX_RECORD_SIZE = 5;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final BoardShape shape;
+	private boolean endOfFile;
+
+	/* The fields of the last record read. */
+	private int playerId, row, leftBound, rightBound, winnerId;
+
+	/**
+	 * Opens a record file and reads its header.
+	 * @param path the path of the file.
+	 * @throws IOException if the file can not be read, or is not a record file.
+	 */
+	public GameRecordReader(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			shape = readHeader(path);
+		} catch (IOException | RuntimeException e){
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the header of the file.
+	 * @param path the path of the file, for the messages.
+	 * @return the shape of the boards the recorded rounds were played on.
+	 * @throws IOException if the file can not be read, or its header is short or invalid.
+	 */
+	private BoardShape readHeader(Path path) throws IOException {
+		long size = channel.size();
+		if (size < GameRecorder.HEADER_SIZE){
+			throw new IOException(path + " is too short to be a game record file.");
+		}
+		buffer.flip();
+		fill(GameRecorder.HEADER_SIZE);
+		if (buffer.getInt() != GameRecorder.MAGIC || buffer.get() != GameRecorder.VERSION){
+			throw new IOException(path + " is not a game record file.");
+		}
+		int[] rowLengths = new int[buffer.getChar()];
+		if (size < GameRecorder.HEADER_SIZE + rowLengths.length){
+			throw new IOException(path + " ends inside its header.");
+		}
+		for (int i = 0; i < rowLengths.length; i++){
+			fill(1);
+			rowLengths[i] = buffer.get() & 0xFF;
+		}
+		try {
+			return new BoardShape(rowLengths);
+		} catch (IllegalArgumentException e){
+			throw new IOException(path + " records an invalid board: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return the shape of the boards the recorded rounds were played on.
+	 */
+	public BoardShape getShape(){
+		return shape;
+	}
+
+	/**
+	 * Reads the next record.
+	 * @return ROUND_START, MOVE or ROUND_END according to the record read, or END_OF_RECORDS.
+	 * @throws IOException if the file can not be read, or a record is corrupt.
+	 */
+	public int next() throws IOException {
+		fill(MAX_RECORD_SIZE);
+		if (!buffer.hasRemaining()){
+			return END_OF_RECORDS;
+		}
+		byte tag = buffer.get();
+		if (tag == GameRecorder.ROUND_START){
+			return ROUND_START;
+		}
+		if (tag == GameRecorder.ROUND_END && buffer.remaining() >= 1){
+			winnerId = buffer.get();
+			return ROUND_END;
+		}
+		if ((tag == GameRecorder.MOVE + 1 || tag == GameRecorder.MOVE + 2) && buffer.remaining() >= 4){
+			playerId = tag - GameRecorder.MOVE;
+			row = buffer.getChar();
+			leftBound = buffer.get() & 0xFF;
+			rightBound = buffer.get() & 0xFF;
+			return MOVE;
+		}
+		throw new IOException("Corrupt record with tag " + tag + ".");
+	}
+
+	/**
+	 * Reads the next record and applies it to the given board: the board is reset when a round starts, and
+	 * the move is marked on it when a move is read.
+	 * @param board a board of the recorded shape.
+	 * @return the type of the record, as returned by next.
+	 * @throws IOException if the file can not be read, or a record is corrupt or does not fit the board.
+	 */
+	public int replay(Board board) throws IOException {
+		int record = next();
+		if (record == ROUND_START){
+			board.reset();
+		} else if (record == MOVE &&
+				board.markStickSequence(Move.of(board.getShape(), row, leftBound, rightBound)) != 0){
+			throw new IOException("Recorded move " + row + ":" + leftBound + "-" + rightBound +
+					" is illegal on the board.");
+		}
+		return record;
+	}
+
+	/**
+	 * @return the id of the player who made the last move read.
+	 */
+	public int getPlayerId(){
+		return playerId;
+	}
+
+	/**
+	 * @return the row of the last move read.
+	 */
+	public int getRow(){
+		return row;
+	}
+
+	/**
+	 * @return the leftmost stick of the last move read.
+	 */
+	public int getLeftBound(){
+		return leftBound;
+	}
+
+	/**
+	 * @return the rightmost stick of the last move read.
+	 */
+	public int getRightBound(){
+		return rightBound;
+	}
+
+	/**
+	 * @return the id of the winner of the last round end read.
+	 */
+	public int getWinnerId(){
+		return winnerId;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Reads from the file until the buffer holds at least the given number of bytes, or the file ends.
+	 */
+	private void fill(int needed) throws IOException {
+		if (buffer.remaining() >= needed || endOfFile){
+			return;
+		}
+		buffer.compact();
+		while (buffer.position() < needed){
+			if (channel.read(buffer) < 0){
+				endOfFile = true;
+				break;
+			}
+		}
+		buffer.flip();
+	}
+
+	/**
+	 * Replays a record file and prints the number of rounds, moves and victories of each player in it.
+	 * @param args the path of the record file.
+	 */
+	public static void main(String[] args) throws IOException {
+		try (GameRecordReader reader = new GameRecordReader(Paths.get(args[0]))){
+			Board board = new Board(reader.getShape());
+			int rounds = 0, moves = 0, p1Score = 0, p2Score = 0;
+			int record;
+			while ((record = reader.replay(board)) != END_OF_RECORDS){
+				if (record == MOVE){
+					moves++;
+				} else if (record == ROUND_END){
+					rounds++;
+					if (reader.getWinnerId() == 1) p1Score++;
+					else p2Score++;
+				}
+			}
+			System.out.println(rounds + " rounds, " + moves + " moves on a " + reader.getShape() +
+					" board.");
+			System.out.println("The results are " + p1Score + ":" + p2Score);
+		}
+	}
+}
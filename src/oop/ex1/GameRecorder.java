@@ -0,0 +1,140 @@
+package oop.ex1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameRecorder class streams the rounds of a competition into a compact binary file, to be analysed or
+ * replayed later with a GameRecordReader. Records are gathered in a direct buffer and written through a
+ * FileChannel whenever the buffer fills up, so recording a move costs a few bytes and allocates nothing.
+ * A recorder is not thread safe, every competition needs a recorder of its own.
+ *
+ * The file starts with a header: the magic number, the format version, the number of rows of the board
+ * (2 bytes) and the length of every row (1 byte each). It is followed by the records, each starting with a
+ * tag byte:
+ * ROUND_START - a new round starts on a clear board (1 byte).
+ * MOVE - the player whose id is stored in the tag marked a sequence of sticks: the row (2 bytes), the
+ *     leftmost stick and the rightmost stick (1 byte each) - 5 bytes in total.
+ * ROUND_END - the round ended, followed by the id of the winner (2 bytes in total).
+ */
+public class GameRecorder implements Closeable {
+
+	/** The first four bytes of every record file, "NIMR". */
+	static final int MAGIC = 0x4E494D52;
+	/** The version of the file format. */
+	static final byte VERSION = 1;
+	/** The size of the header before the row lengths: the magic number, version and number of rows. */
+	static final int HEADER_SIZE = 7;
+	/** The tag of a record opening a round. */
+	static final byte ROUND_START = 1;
+	/** The tag of a move record, the id of the player (1 or 2) is added to it. */
+	static final byte MOVE = 2;
+	/** The tag of a record closing a round. */
+	static final byte ROUND_END = 8;
+	/** The size of the largest record. */
+	private static final int MAX_RECORD_SIZE = 5;
+	/** The size of the buffer records are gathered in. */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Creates a record file at the given path, replacing any existing file, and writes its header.
+	 * @param path the path of the file.
+	 * @param shape the shape of the boards the recorded rounds are played on.
+	 * @throws IOException if the file can not be written.
+	 * @throws IllegalArgumentException if the shape has too many rows for the format.
+	 */
+	public GameRecorder(Path path, BoardShape shape) throws IOException {
+		int numRows = shape.getNumberOfRows();
+		if (numRows > Character.MAX_VALUE){
+			throw new IllegalArgumentException("Can not record boards of more than " +
+					(int) Character.MAX_VALUE + " rows.");
+		}
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			buffer.putInt(MAGIC).put(VERSION).putChar((char) numRows);
+			for (int row = 1; row <= numRows; row++){
+				ensureRoom();
+				buffer.put((byte) shape.getRowLength(row));
+			}
+		} catch (RuntimeException e){
+			// the header of a long shape is flushed on the way, the recorder is not returned to be closed.
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Records the start of a round.
+	 */
+	public void recordRoundStart(){
+		ensureRoom();
+		buffer.put(ROUND_START);
+	}
+
+	/**
+	 * Records a legal move.
+	 * @param playerId the id of the player who made the move (1 or 2).
+	 * @param move the move.
+	 */
+	public void recordMove(int playerId, Move move){
+		ensureRoom();
+		buffer.put((byte) (MOVE + playerId)).putChar((char) move.getRow())
+				.put((byte) move.getLeftBound()).put((byte) move.getRightBound());
+	}
+
+	/**
+	 * Records the end of a round.
+	 * @param winnerId the id of the player who won the round (1 or 2).
+	 */
+	public void recordRoundEnd(int winnerId){
+		ensureRoom();
+		buffer.put(ROUND_END).put((byte) winnerId);
+	}
+
+	/**
+	 * Writes all the buffered records to the file.
+	 * @throws UncheckedIOException if the file can not be written.
+	 */
+	public void flush(){
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()){
+				channel.write(buffer);
+			}
+		} catch (IOException e){
+			throw new UncheckedIOException(e);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes all the buffered records and closes the file.
+	 * @throws IOException if the file can not be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Flushes the buffer if it has no room for another record.
+	 */
+	private void ensureRoom(){
+		if (buffer.remaining() < MAX_RECORD_SIZE){
+			flush();
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package oop.ex1;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The GameServer class hosts many Nim competitions at once in a single process, on a local socket. Every
+ * connection is a session: the client sends the arguments of a competition on its first line, "P1 P2
+ * ROUNDS" as given to Competition.main, and the competition is then played on a thread of its own with its
+ * own board and pair of players. The messages of the competition are sent to the client, and the human
+ * players of the session (type 4) read their input from it, so a session plays exactly like Competition.main
+ * on a terminal. The messages are buffered and sent when a human player is asked for input or the session
+ * ends, so a move costs the server a single write. The computer players of all the sessions share the solved
+ * positions of the Smart player and the memory mapped tablebase, which are never changed once written.
+ */
+public class GameServer implements Closeable {
+
+	/** The port the server listens on when none is given. */
+	public static final int DEFAULT_PORT = 7777;
+	/** The number of connections waiting to be accepted before new ones are refused. */
+	private static final int BACKLOG = 4096;
+	private static final int HUMAN = 4;
+	private static final String TIMEOUT_OPTION = "timeout=";
+
+	private final ServerSocket serverSocket;
+	private final ExecutorService sessions;
+	private final long moveTimeoutMillis;
+	private final AtomicInteger activeSessions = new AtomicInteger();
+	private final AtomicInteger completedSessions = new AtomicInteger();
+
+	/**
+	 * Runs a server until the process is killed.
+	 * @param args the port to listen on, DEFAULT_PORT if not given, optionally followed by
+	 * "timeout=SECONDS", the time the human players of every session have to complete each move before
+	 * forfeiting the round.
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = DEFAULT_PORT;
+		long timeoutMillis = 0;
+		for (String arg : args){
+			if (arg.startsWith(TIMEOUT_OPTION)){
+				long timeoutSeconds = Long.parseLong(arg.substring(TIMEOUT_OPTION.length()));
+				timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+			} else {
+				port = Integer.parseInt(arg);
+			}
+		}
+		GameServer server = new GameServer(port, timeoutMillis);
+		System.out.println("Serving Nim sessions on port " + server.getPort() + ".");
+		server.serve();
+	}
+
+	/**
+	 * Opens a server on the loopback address.
+	 * @param port the port to listen on, or 0 for any free port.
+	 * @param moveTimeoutMillis the time the human players of a session have to complete each move before
+	 * forfeiting the round, or 0 to wait for them forever.
+	 * @throws IOException if the port can not be listened on.
+	 */
+	public GameServer(int port, long moveTimeoutMillis) throws IOException {
+		serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+		sessions = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "nim-session");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.moveTimeoutMillis = moveTimeoutMillis;
+	}
+
+	/**
+	 * @return the port the server listens on.
+	 */
+	public int getPort(){
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * @return the number of sessions being played.
+	 */
+	public int getActiveSessions(){
+		return activeSessions.get();
+	}
+
+	/**
+	 * @return the number of sessions that have ended.
+	 */
+	public int getCompletedSessions(){
+		return completedSessions.get();
+	}
+
+	/**
+	 * Accepts connections and starts their sessions, until the server is closed.
+	 * @throws IOException if accepting a connection fails for any other reason than the server being closed.
+	 */
+	public void serve() throws IOException {
+		while (true){
+			Socket socket;
+			try {
+				socket = serverSocket.accept();
+			} catch (SocketException e){
+				if (serverSocket.isClosed()){
+					return;
+				}
+				throw e;
+			}
+			activeSessions.incrementAndGet();
+			sessions.execute(() -> playSession(socket));
+		}
+	}
+
+	/**
+	 * Stops accepting connections. The sessions being played are left to end by themselves.
+	 */
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		sessions.shutdown();
+	}
+
+	/**
+	 * Plays the competition asked for by the client of the given socket, and closes the socket.
+	 */
+	private void playSession(Socket socket){
+		try (Socket session = socket;
+			 Scanner scanner = new Scanner(session.getInputStream(), StandardCharsets.UTF_8.name());
+			 PrintStream out = new PrintStream(new BufferedOutputStream(session.getOutputStream()), false,
+					 StandardCharsets.UTF_8.name())){
+			session.setTcpNoDelay(true);
+			int p1Type = resolveType(scanner.next());
+			int p2Type = resolveType(scanner.next());
+			int numRounds = scanner.nextInt();
+			if (!isPlayable(p1Type) || !isPlayable(p2Type) || numRounds < 0){
+				out.println("Expected the player types (" + StrategyRegistry.describeTypes() +
+						", or their names) and the number of rounds. Terminating.");
+				return;
+			}
+			try (Player player1 = createPlayer(p1Type, 1, scanner, out);
+				 Player player2 = createPlayer(p2Type, 2, scanner, out)){
+				if (moveTimeoutMillis > 0 && (p1Type == HUMAN || p2Type == HUMAN)){
+					HumanInputReader humanInput = new HumanInputReader(scanner);
+					player1.setHumanInput(humanInput, moveTimeoutMillis, Player.FALLBACK_FORFEIT);
+					player2.setHumanInput(humanInput, moveTimeoutMillis, Player.FALLBACK_FORFEIT);
+				}
+				Competition competition = new Competition(player1, player2,
+						p1Type == HUMAN || p2Type == HUMAN);
+				competition.setOutput(out);
+				competition.playMultipleRounds(numRounds);
+			}
+		} catch (IOException | NoSuchElementException e){
+			// the client went away, its session simply ends.
+		} finally {
+			activeSessions.decrementAndGet();
+			completedSessions.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @return the id of a player type given by its id or name, like in Competition.main, or 0 if no such
+	 * type is registered.
+	 */
+	private static int resolveType(String type){
+		try {
+			return StrategyRegistry.resolve(type);
+		} catch (IllegalArgumentException e){
+			return 0;
+		}
+	}
+
+	/**
+	 * @return true if a player of the given type can be created without terminating the server, which a
+	 * Player does for an unknown type or a strategy whose file (like the tablebase) can not be opened.
+	 */
+	private static boolean isPlayable(int playerType){
+		if (!StrategyRegistry.isRegistered(playerType)){
+			return false;
+		}
+		try {
+			StrategyRegistry.create(playerType, BoardShape.STANDARD, null).close();
+		} catch (IOException e){
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a player of a session, showing its prompts to the client.
+	 */
+	private static Player createPlayer(int type, int id, Scanner scanner, PrintStream out){
+		Player player = new Player(type, id, scanner);
+		player.setOutput(out);
+		return player;
+	}
+}
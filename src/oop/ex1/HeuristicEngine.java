@@ -0,0 +1,196 @@
+package oop.ex1;
+
+/**
+ * The HeuristicEngine class produces the moves of the Heuristic player. It reads every row of the board as a
+ * bitmask, walks the unmarked segments of the row with bit operations, and computes the binary sum of the
+ * segment lengths with an integer XOR. All the intermediate results are kept in buffers owned by the engine
+ * and reused on every call, so producing a move allocates nothing but the returned Move. The moves chosen
+ * are the same ones the heuristic always chose, see produceMove for the single exception.
+ */
+public class HeuristicEngine {
+
+	/** The number of bits used for the binary representation of segment lengths. */
+	private final int binaryLength;
+
+	/* Scratch buffers, sized for the shape of the engine and grown if a board with more rows is met. */
+	private long[] rowBits; // the bitmask of every row, a set bit is an unmarked stick.
+	private int[] rowLengthBits; // the OR of the lengths of all the segments in every row.
+
+	/* The move chosen by the last call to chooseMove. */
+	private int moveRow, moveLeft, moveRight;
+
+	/**
+	 * @param shape the shape of the boards the engine plays on.
+	 */
+	public HeuristicEngine(BoardShape shape){
+		binaryLength = shape.getBinaryLength();
+		rowBits = new long[shape.getNumberOfRows()];
+		rowLengthBits = new int[shape.getNumberOfRows()];
+	}
+
+	/**
+	 * Uses a winning heuristic for the Nim game to produce a move. The original heuristic can choose a move
+	 * that is out of the board or covers marked sticks, when the segment it removes from shares its row with
+	 * another segment of a lower length bit. Since a computer player repeats an illegal move forever, the
+	 * engine answers such positions with a move that zeroes the binary sum instead.
+	 * @param board a board with at least one unmarked stick.
+	 * @return the move of the Heuristic player.
+	 */
+	public Move produceMove(Board board){
+		int numRows = board.getNumberOfRows();
+		if (rowBits.length < numRows){
+			rowBits = new long[numRows];
+		}
+		for (int row = 1; row <= numRows; row++){
+			rowBits[row-1] = board.getRowBits(row);
+		}
+		return produceMove(board.getShape(), rowBits);
+	}
+
+	/**
+	 * Produces the move of the Heuristic player on the board with the given rows, see produceMove(Board).
+	 * @param shape the shape of the board.
+	 * @param rows the bitmask of every row of the board, a set bit is an unmarked stick.
+	 * @return the move of the Heuristic player.
+	 */
+	public Move produceMove(BoardShape shape, long[] rows){
+		int numRows = shape.getNumberOfRows();
+		if (rowLengthBits.length < numRows){
+			rowLengthBits = new int[numRows];
+		}
+		int nimSum = chooseMove(rows, numRows);
+		if (!isMoveLegal(rows, numRows)){
+			chooseBalancingMove(rows, numRows, nimSum);
+		}
+		return Move.of(shape, moveRow, moveLeft, moveRight);
+	}
+
+	/**
+	 * Chooses the move of the heuristic for the given rows, and stores it in the move fields.
+	 * @param rows the bitmask of every row of the board.
+	 * @param numRows the number of rows on the board.
+	 * @return the binary sum of the lengths of all the segments on the board.
+	 */
+	private int chooseMove(long[] rows, int numRows){
+		int nimSum = 0,higherThenOne=0,totalOnes=0,lastRow=0,lastLeft=0,lastSize=0;
+		int lastOneRow=0,lastOneLeft=0;
+
+		for (int k = 0; k < numRows; k++){
+			long bits = rows[k];
+			int lengthBits = 0;
+			while (bits != 0){
+				int start = Long.numberOfTrailingZeros(bits);
+				int length = Long.numberOfTrailingZeros(~(bits >>> start));
+				lengthBits |= length;
+				nimSum ^= length;
+				if (length > 1){
+					higherThenOne++;
+					lastRow = k+1;
+					lastLeft = start+1;
+					lastSize = length;
+				} else {
+					totalOnes++;
+				}
+				lastOneRow = k+1;
+				lastOneLeft = start+length;
+				bits &= bits + (1L << start); // clears the lowest segment
+			}
+			rowLengthBits[k] = lengthBits;
+		}
+
+		//We only have single sticks
+		if (higherThenOne == 0){
+			return setMove(nimSum, lastOneRow, lastOneLeft, lastOneLeft);
+		}
+
+		//We are at a finishing state
+		if (higherThenOne <= 1){
+			if (totalOnes == 0){
+				return setMove(nimSum, lastRow, lastLeft, lastLeft+(lastSize-1) - 1);
+			}
+			return setMove(nimSum, lastRow, lastLeft, lastLeft+(lastSize-1)-(1-totalOnes%2));
+		}
+
+		for (int eraseSize = 1 << (binaryLength-1); eraseSize > 1; eraseSize >>= 1){
+			if ((nimSum & eraseSize) == 0){
+				continue;
+			}
+			int eraseRow = 0;
+			while ((rowLengthBits[eraseRow] & eraseSize) == 0){
+				eraseRow++;
+			}
+			// every lower bit of the sum is added if the row lacks it, and subtracted if the row has it
+			int finalSum = 0;
+			for (int lowerBit = eraseSize >> 1; lowerBit > 0; lowerBit >>= 1){
+				if ((nimSum & lowerBit) != 0){
+					finalSum += (rowLengthBits[eraseRow] & lowerBit) == 0 ? lowerBit : -lowerBit;
+				}
+			}
+			int numRemove = eraseSize - finalSum;
+
+			//Now we find the first segment in the row long enough and remove from it the required piece
+			long bits = rows[eraseRow];
+			int start = Long.numberOfTrailingZeros(bits);
+			while (Long.numberOfTrailingZeros(~(bits >>> start)) < eraseSize){
+				bits &= bits + (1L << start);
+				start = Long.numberOfTrailingZeros(bits);
+			}
+			return setMove(nimSum, eraseRow+1, start+1, start+numRemove);
+		}
+
+		//If we reached here, and the board is not symmetric, then we only need to erase a single stick
+		if ((nimSum & 1) != 0){
+			return setMove(nimSum, lastOneRow, lastOneLeft, lastOneLeft);
+		}
+
+		//If we reached here, it means that the board is already symmetric, and then we simply mark one stick
+		// from the last sequence we saw:
+		return setMove(nimSum, lastRow, lastLeft, lastLeft);
+	}
+
+	/**
+	 * Chooses a move that shortens the first segment whose length has the highest bit of the binary sum
+	 * so that the binary sum becomes zero.
+	 * @param rows the bitmask of every row of the board.
+	 * @param numRows the number of rows on the board.
+	 * @param nimSum the binary sum of the lengths of all the segments on the board, not zero.
+	 */
+	private void chooseBalancingMove(long[] rows, int numRows, int nimSum){
+		for (int k = 0; k < numRows; k++){
+			long bits = rows[k];
+			while (bits != 0){
+				int start = Long.numberOfTrailingZeros(bits);
+				int length = Long.numberOfTrailingZeros(~(bits >>> start));
+				if ((length ^ nimSum) < length){
+					setMove(nimSum, k+1, start+1, start+length-(length ^ nimSum));
+					return;
+				}
+				bits &= bits + (1L << start);
+			}
+		}
+	}
+
+	/**
+	 * Stores the given move in the move fields.
+	 * @return the given binary sum, for the convenience of the caller.
+	 */
+	private int setMove(int nimSum, int row, int left, int right){
+		moveRow = row;
+		moveLeft = left;
+		moveRight = right;
+		return nimSum;
+	}
+
+	/**
+	 * The bits past the end of a row are never set, so a move leaving its row also covers a clear bit.
+	 * @return true if the move in the move fields is legal on the board with the given rows.
+	 */
+	private boolean isMoveLegal(long[] rows, int numRows){
+		if (moveRow < 1 || moveRow > numRows || moveLeft < 1 || moveLeft > moveRight ||
+				moveRight > BoardShape.MAX_ROW_LENGTH){
+			return false;
+		}
+		long moveMask = Board.sequenceMask(moveLeft, moveRight);
+		return (rows[moveRow-1] & moveMask) == moveMask;
+	}
+}
@@ -0,0 +1,44 @@
+package oop.ex1;
+
+import java.util.SplittableRandom;
+
+/**
+ * The strategy of the Heuristic player, a HeuristicEngine. The engine keeps the board it is working on, so
+ * every Heuristic player has a strategy of its own.
+ */
+public final class HeuristicStrategy implements Strategy {
+
+	/** The name of the Heuristic player type. */
+	public static final String NAME = "Heuristic";
+
+	private final HeuristicEngine engine;
+
+	/**
+	 * @param shape the shape of the boards the player plays on.
+	 */
+	public HeuristicStrategy(BoardShape shape){
+		engine = new HeuristicEngine(shape);
+	}
+
+	@Override
+	public Move produceMove(Board board, SplittableRandom random){
+		return engine.produceMove(board);
+	}
+
+	/**
+	 * @return the engine producing the moves, for playing on the rows of a board (see BatchedSelfPlay).
+	 */
+	HeuristicEngine getEngine(){
+		return engine;
+	}
+
+	@Override
+	public String getName(){
+		return NAME;
+	}
+
+	@Override
+	public boolean isDeterministic(Board board){
+		return true;
+	}
+}
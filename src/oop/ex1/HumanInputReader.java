@@ -0,0 +1,86 @@
+package oop.ex1;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.Scanner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The HumanInputReader class reads the numbers typed by human players on a thread of its own, and hands them
+ * to the players through a queue. A player waiting for a number waits for a limited time only, so a human
+ * who does not answer can not hold the competition thread forever. Tokens that are not numbers are skipped.
+ */
+public class HumanInputReader {
+
+	/** Marks the end of the input in the queue. */
+	private static final OptionalInt END_OF_INPUT = OptionalInt.empty();
+
+	private final Scanner scanner;
+	private final BlockingQueue<OptionalInt> numbers = new LinkedBlockingQueue<>();
+
+	/**
+	 * Starts reading the given scanner on a new daemon thread, so that a human who never answers does not
+	 * keep the program alive.
+	 * @param scanner the scanner to read from, which must not be read by anyone else from now on.
+	 */
+	public HumanInputReader(Scanner scanner){
+		this.scanner = scanner;
+		Thread readerThread = new Thread(this::readNumbers, "human-input-reader");
+		readerThread.setDaemon(true);
+		readerThread.start();
+	}
+
+	/**
+	 * Waits up to the given time for the next number typed.
+	 * @param timeout the longest time to wait.
+	 * @param unit the unit of the timeout.
+	 * @return the next number, or null if none was typed in time (or the waiting thread was interrupted).
+	 * @throws NoSuchElementException if the input has ended, like Scanner.nextInt.
+	 */
+	public Integer nextInt(long timeout, TimeUnit unit){
+		OptionalInt number;
+		try {
+			number = numbers.poll(timeout, unit);
+		} catch (InterruptedException e){
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		if (number == null){
+			return null;
+		}
+		if (!number.isPresent()){
+			numbers.offer(END_OF_INPUT); // every later read fails as well.
+			throw new NoSuchElementException("The input has ended.");
+		}
+		return number.getAsInt();
+	}
+
+	/**
+	 * Throws away the numbers typed but not read yet, such as the rest of an answer that came too late.
+	 */
+	public void clear(){
+		OptionalInt number;
+		while ((number = numbers.poll()) != null){
+			if (!number.isPresent()){
+				numbers.offer(END_OF_INPUT);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Reads the scanner until its input ends, queueing every number.
+	 */
+	private void readNumbers(){
+		while (scanner.hasNext()){
+			if (scanner.hasNextInt()){
+				numbers.offer(OptionalInt.of(scanner.nextInt()));
+			} else {
+				scanner.next();
+			}
+		}
+		numbers.offer(END_OF_INPUT);
+	}
+}
@@ -0,0 +1,139 @@
+package oop.ex1;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The strategy of the Human player: the move typed by a human, who is shown prompts and, on request, the
+ * board. The human reads the prompts from the standard output unless another stream is given, and types his
+ * answers into the scanner, or into a HumanInputReader when he has a time limit on every move.
+ */
+public final class HumanStrategy implements Strategy {
+
+	/** The name of the Human player type. */
+	public static final String NAME = "Human";
+	/**Used by human player for displaying the board */
+	private static final int DISPLAY_BOARD = 1;
+	/**Used by human player for making a move*/
+	private static final int MAKE_MOVE = 2;
+
+	private final Scanner scanner;
+	private PrintStream out = System.out; // where the human is shown his prompts.
+	private ByteBuffer renderedBoard; // reused for every display of the board.
+	private HumanInputReader humanInput; // null when the human reads the scanner directly.
+	private long moveTimeoutNanos;
+	private int timeoutFallback;
+
+	/**
+	 * @param scanner the scanner the human types his answers into.
+	 */
+	public HumanStrategy(Scanner scanner){
+		this.scanner = scanner;
+	}
+
+	/**
+	 * Shows the prompts on the given stream instead of the standard output.
+	 * @param out the stream to print the prompts to.
+	 */
+	void setOutput(PrintStream out){
+		this.out = out;
+	}
+
+	/**
+	 * Reads the answers from the given reader with a time limit on every move, see Player.setHumanInput.
+	 */
+	void setHumanInput(HumanInputReader input, long moveTimeoutMillis, int fallback){
+		humanInput = input;
+		moveTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(moveTimeoutMillis);
+		timeoutFallback = fallback;
+	}
+
+	/**
+	 * Produce a move according to inputs by the player.
+	 * @param board a board to play the move on (or display the current state of the game)
+	 * @param random the generator of the random move played for a human whose time is up.
+	 * @return A move dictated by user inputs, or the fallback of the player if its time is up.
+	 */
+	@Override
+	public Move produceMove(Board board, SplittableRandom random){
+		long deadline = System.nanoTime() + moveTimeoutNanos;
+		while (true){
+			out.println("Press 1 to display the board. Press 2 to make a move:");
+			Integer userDecision = readHumanInt(deadline);
+			if (userDecision == null) return produceTimeoutMove(board, random);
+
+			if (userDecision == DISPLAY_BOARD){
+				displayBoard(board);
+
+			} else if (userDecision == MAKE_MOVE){
+				out.println("Enter the row number:");
+				Integer rowNumber = readHumanInt(deadline);
+				if (rowNumber == null) return produceTimeoutMove(board, random);
+				out.println("Enter the index of the leftmost stick:");
+				Integer leftBound = readHumanInt(deadline);
+				if (leftBound == null) return produceTimeoutMove(board, random);
+				out.println("Enter the index of the rightmost stick:");
+				Integer rightBound = readHumanInt(deadline);
+				if (rightBound == null) return produceTimeoutMove(board, random);
+				return Move.of(board.getShape(), rowNumber, leftBound, rightBound);
+
+			} else {
+				out.println("Unsupported command");
+			}
+
+		}
+	}
+
+	@Override
+	public String getName(){
+		return NAME;
+	}
+
+	/**
+	 * Shows the board to the human, like printing it would, rendering it into a buffer kept for the next
+	 * time instead of creating a new string.
+	 */
+	private void displayBoard(Board board){
+		int renderedLength = board.getRenderedLength();
+		if (renderedBoard == null || renderedBoard.capacity() < renderedLength){
+			renderedBoard = ByteBuffer.allocate(renderedLength);
+		}
+		renderedBoard.clear();
+		board.writeTo(renderedBoard);
+		out.write(renderedBoard.array(), 0, renderedBoard.position());
+		out.println();
+	}
+
+	/**
+	 * Reads the next number typed by the human, from the scanner or, if he has a time limit, from the input
+	 * reader until the given deadline.
+	 * @param deadline the System.nanoTime by which the move must be complete.
+	 * @return the number, or null if the time is up.
+	 */
+	private Integer readHumanInt(long deadline){
+		out.flush(); // the prompts must be seen before waiting for their answer.
+		if (humanInput == null){
+			return scanner.nextInt();
+		}
+		return humanInput.nextInt(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Plays the fallback of a human whose time is up. The rest of a late answer is thrown away, so that it
+	 * is not taken as the beginning of the next move.
+	 * @param board the board the move was asked for.
+	 * @return a random move, or null to forfeit the round.
+	 */
+	private Move produceTimeoutMove(Board board, SplittableRandom random){
+		humanInput.clear();
+		if (timeoutFallback == Player.FALLBACK_FORFEIT){
+			out.println("Time is up, you forfeit the round.");
+			return null;
+		}
+		out.println("Time is up, a random move is played for you.");
+		return RandomMoveSampler.produceMove(board, random);
+	}
+}
@@ -0,0 +1,89 @@
+package oop.ex1;
+
+/**
+ * The LatencyHistogram class counts durations in buckets of powers of two nanoseconds: bucket i counts the
+ * durations from 2^i up to 2^(i+1)-1 nanoseconds (bucket 0 also counts zero). Recording a duration is a
+ * couple of array updates, and the exact count, total and maximum are kept next to the buckets.
+ * A histogram is not thread safe, every thread records into a histogram of its own and they are merged.
+ */
+public class LatencyHistogram {
+
+	/** The number of buckets, one for every bit of a long. */
+	static final int NUM_OF_BUCKETS = Long.SIZE;
+
+	private final long[] buckets = new long[NUM_OF_BUCKETS];
+	private long count;
+	private long totalNanos;
+	private long maxNanos;
+
+	/**
+	 * Records a single duration.
+	 * @param nanos the duration in nanoseconds.
+	 */
+	public void record(long nanos){
+		buckets[Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos | 1)]++;
+		count++;
+		totalNanos += nanos;
+		if (nanos > maxNanos){
+			maxNanos = nanos;
+		}
+	}
+
+	/**
+	 * Adds all the durations recorded by another histogram to this one.
+	 * @param other the histogram to add.
+	 */
+	public void merge(LatencyHistogram other){
+		for (int i = 0; i < NUM_OF_BUCKETS; i++){
+			buckets[i] += other.buckets[i];
+		}
+		count += other.count;
+		totalNanos += other.totalNanos;
+		maxNanos = Math.max(maxNanos, other.maxNanos);
+	}
+
+	/**
+	 * @return the number of durations recorded.
+	 */
+	public long getCount(){
+		return count;
+	}
+
+	/**
+	 * @return the sum of all the durations recorded, in nanoseconds.
+	 */
+	public long getTotalNanos(){
+		return totalNanos;
+	}
+
+	/**
+	 * @return the longest duration recorded, in nanoseconds.
+	 */
+	public long getMaxNanos(){
+		return maxNanos;
+	}
+
+	/**
+	 * @return a copy of the bucket counts.
+	 */
+	public long[] getBuckets(){
+		return buckets.clone();
+	}
+
+	/**
+	 * Estimates a percentile of the recorded durations by the upper bound of the bucket it falls in.
+	 * @param percentile the percentile, between 0 and 100.
+	 * @return the estimated duration in nanoseconds, 0 if nothing was recorded.
+	 */
+	public long getPercentileNanos(double percentile){
+		long rank = (long) Math.ceil(count * percentile / 100);
+		long seen = 0;
+		for (int i = 0; i < NUM_OF_BUCKETS; i++){
+			seen += buckets[i];
+			if (seen >= rank && seen > 0){
+				return Math.min(maxNanos, (i == NUM_OF_BUCKETS - 1) ? Long.MAX_VALUE : (2L << i) - 1);
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,183 @@
+package oop.ex1;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Enumerates the legal moves of a range of rows of a board lazily, as packed move codes (see Move.pack) in
+ * increasing order: row by row, segment by segment, by left bound and then by right bound. Nothing is
+ * allocated per move. It is both an iterator and a spliterator, which splits its rows in two halves for
+ * parallel consumers, and knows the exact number of moves it has left from the legal move counts the board
+ * keeps. The board must not change while its moves are enumerated.
+ */
+final class LegalMoveIterator implements PrimitiveIterator.OfInt, Spliterator.OfInt {
+
+	private static final int CHARACTERISTICS = ORDERED | DISTINCT | SORTED | NONNULL | SIZED | SUBSIZED;
+
+	private final Board board;
+	private int row; // the row being enumerated.
+	private final int endRow; // the row after the last row enumerated.
+	private long rowBits; // the segments of the row not enumerated yet.
+	private int segmentEnd; // the rightmost stick of the segment being enumerated, 0 before the first one.
+	private int leftBound, rightBound; // the bounds of the last move found.
+	private boolean found; // true if the move of the bounds above was found but not returned yet.
+	private boolean exhausted;
+	private long remaining; // the number of moves not returned yet.
+
+	/**
+	 * Enumerates the legal moves of the rows firstRow to endRow-1 of the given board.
+	 */
+	LegalMoveIterator(Board board, int firstRow, int endRow){
+		this.board = board;
+		this.endRow = endRow;
+		startAt(firstRow);
+	}
+
+	/**
+	 * Restarts the enumeration at the beginning of the given row.
+	 */
+	private void startAt(int firstRow){
+		row = firstRow;
+		rowBits = firstRow < endRow ? board.getRowBits(firstRow) : 0;
+		segmentEnd = leftBound = rightBound = 0;
+		found = false;
+		exhausted = firstRow >= endRow;
+		remaining = countMoves(firstRow, endRow);
+	}
+
+	/**
+	 * @return the number of legal moves in the rows firstRow to endRow-1.
+	 */
+	private long countMoves(int firstRow, int endRow){
+		long moves = 0;
+		for (int i = firstRow; i < endRow; i++){
+			moves += board.getNumberOfLegalMoves(i);
+		}
+		return moves;
+	}
+
+	@Override
+	public boolean hasNext(){
+		if (!found && !exhausted){
+			found = findNext();
+			exhausted = !found;
+		}
+		return found;
+	}
+
+	@Override
+	public int nextInt(){
+		if (!hasNext()){
+			throw new NoSuchElementException("No legal moves are left.");
+		}
+		found = false;
+		remaining--;
+		return Move.pack(row, leftBound, rightBound);
+	}
+
+	/**
+	 * Moves the bounds to the next legal move.
+	 * @return false if there is none.
+	 */
+	private boolean findNext(){
+		if (rightBound < segmentEnd){
+			rightBound++;
+			return true;
+		}
+		if (leftBound < segmentEnd){
+			leftBound++;
+			rightBound = leftBound;
+			return true;
+		}
+		while (true){
+			if (rowBits != 0){
+				int start = Long.numberOfTrailingZeros(rowBits);
+				int length = Long.numberOfTrailingZeros(~(rowBits >>> start));
+				rowBits &= rowBits + (1L << start); // clears the lowest segment
+				leftBound = rightBound = start + 1;
+				segmentEnd = start + length;
+				return true;
+			}
+			row++;
+			if (row >= endRow){
+				return false;
+			}
+			rowBits = board.getRowBits(row);
+		}
+	}
+
+	@Override
+	public boolean tryAdvance(IntConsumer action){
+		if (!hasNext()){
+			return false;
+		}
+		action.accept(nextInt());
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(IntConsumer action){
+		while (hasNext()){
+			action.accept(nextInt());
+		}
+	}
+
+	/**
+	 * Inherited from both interfaces, the moves are boxed only if the action is not an IntConsumer, which
+	 * the sinks of the streams are.
+	 */
+	@Override
+	public void forEachRemaining(Consumer<? super Integer> action){
+		if (action instanceof IntConsumer){
+			forEachRemaining((IntConsumer) action);
+		} else {
+			forEachRemaining((IntConsumer) action::accept);
+		}
+	}
+
+	/**
+	 * Splits off the first half of the rows left, the row being enumerated included, if at least two rows
+	 * are left.
+	 */
+	@Override
+	public LegalMoveIterator trySplit(){
+		if (exhausted || endRow - row < 2){
+			return null;
+		}
+		int middleRow = (row + 1 + endRow) >>> 1;
+		LegalMoveIterator prefix = new LegalMoveIterator(board, middleRow, middleRow);
+		prefix.row = row;
+		prefix.rowBits = rowBits;
+		prefix.segmentEnd = segmentEnd;
+		prefix.leftBound = leftBound;
+		prefix.rightBound = rightBound;
+		prefix.found = found;
+		prefix.exhausted = false;
+		long suffixMoves = countMoves(middleRow, endRow);
+		prefix.remaining = remaining - suffixMoves;
+		startAt(middleRow);
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize(){
+		return remaining;
+	}
+
+	@Override
+	public int characteristics(){
+		return CHARACTERISTICS;
+	}
+
+	/**
+	 * @return null, the moves are sorted in the natural order of their packed codes.
+	 */
+	@Override
+	public Comparator<? super Integer> getComparator(){
+		return null;
+	}
+}
@@ -0,0 +1,184 @@
+package oop.ex1;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoadTestClient class measures a GameServer by opening many sessions on it at once over the loopback
+ * address. Every session plays a human player against a computer player of the server: the client keeps its
+ * own copy of the board, follows the moves announced by the server, and answers every prompt of the human
+ * player with a random legal move. The latency of a move is the time from sending it to reading the server's
+ * announcement of it, and the percentiles of all the moves of all the sessions are printed at the end.
+ */
+public class LoadTestClient {
+
+	private static final int HUMAN = 4;
+	private static final String PROMPT = "Press 1 to display the board. Press 2 to make a move:";
+	private static final String ROUND_START = "Welcome to the sticks game!";
+	private static final String MOVE_MADE = " made the move: ";
+	private static final String RESULTS = "The results are ";
+
+	private final int port;
+	private final LatencyHistogram moveLatency = new LatencyHistogram();
+	private int failedSessions;
+
+	/**
+	 * Runs a load test and prints its results.
+	 * @param args the number of sessions to open at once, the number of rounds in every session, optionally
+	 * the type of the computer player (2, the Heuristic player, if not given) and the port of the server. If
+	 * no port is given, a server is started in this process on a free port.
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int numSessions = Integer.parseInt(args[0]);
+		int numRounds = Integer.parseInt(args[1]);
+		int computerType = args.length > 2 ? Integer.parseInt(args[2]) : Player.HEURISTIC;
+		GameServer server = null;
+		int port;
+		if (args.length > 3){
+			port = Integer.parseInt(args[3]);
+		} else {
+			server = new GameServer(0, 0);
+			GameServer localServer = server;
+			Thread serverThread = new Thread(() -> {
+				try {
+					localServer.serve();
+				} catch (IOException e){
+					throw new UncheckedIOException(e);
+				}
+			}, "nim-server");
+			serverThread.setDaemon(true);
+			serverThread.start();
+			port = server.getPort();
+		}
+
+		LoadTestClient client = new LoadTestClient(port);
+		long start = System.nanoTime();
+		client.run(numSessions, numRounds, computerType);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		if (server != null) server.close();
+
+		LatencyHistogram latency = client.getMoveLatency();
+		System.out.println(numSessions + " sessions of " + numRounds + " rounds, " +
+				client.failedSessions + " failed, in " + String.format("%.2f", seconds) + " seconds.");
+		System.out.println(latency.getCount() + " moves, " +
+				String.format("%.0f", latency.getCount() / seconds) + " moves per second.");
+		System.out.println("Move latency: p50 " + micros(latency.getPercentileNanos(50)) + " us, p99 " +
+				micros(latency.getPercentileNanos(99)) + " us, max " + micros(latency.getMaxNanos()) +
+				" us.");
+	}
+
+	/**
+	 * @param port the port of the server, on the loopback address.
+	 */
+	public LoadTestClient(int port){
+		this.port = port;
+	}
+
+	/**
+	 * Plays the given number of sessions at once, each on a thread of its own, and waits for all of them.
+	 * @param numSessions the number of sessions.
+	 * @param numRounds the number of rounds in every session.
+	 * @param computerType the type of the computer player the human players of the sessions play against.
+	 */
+	public void run(int numSessions, int numRounds, int computerType) throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(numSessions);
+		for (int i = 0; i < numSessions; i++){
+			long seed = i;
+			Thread session = new Thread(() -> {
+				try {
+					LatencyHistogram sessionLatency = playSession(numRounds, computerType, seed);
+					synchronized (this){
+						moveLatency.merge(sessionLatency);
+					}
+				} catch (IOException | RuntimeException e){
+					synchronized (this){
+						failedSessions++;
+					}
+				} finally {
+					done.countDown();
+				}
+			}, "nim-load-session");
+			session.setDaemon(true);
+			session.start();
+		}
+		done.await();
+	}
+
+	/**
+	 * @return the latencies of the moves of all the sessions played so far.
+	 */
+	public synchronized LatencyHistogram getMoveLatency(){
+		return moveLatency;
+	}
+
+	/**
+	 * Plays a session as the first player, a human, against the given computer player.
+	 * @return the latencies of the moves of the session.
+	 * @throws IOException if the server can not be reached.
+	 * @throws IllegalStateException if the session ends before its results are announced.
+	 */
+	private LatencyHistogram playSession(int numRounds, int computerType, long seed) throws IOException {
+		LatencyHistogram latency = new LatencyHistogram();
+		SplittableRandom random = new SplittableRandom(seed);
+		Board board = new Board();
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)){
+			socket.setTcpNoDelay(true);
+			OutputStream out = socket.getOutputStream();
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+					StandardCharsets.UTF_8));
+			out.write((HUMAN + " " + computerType + " " + numRounds + "\n")
+					.getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			long sentAt = 0;
+			String line;
+			while ((line = in.readLine()) != null){
+				if (line.equals(PROMPT)){
+					Move move = RandomMoveSampler.produceMove(board, random);
+					String answer = "2 " + move.getRow() + " " + move.getLeftBound() + " " +
+							move.getRightBound() + "\n";
+					sentAt = System.nanoTime();
+					out.write(answer.getBytes(StandardCharsets.UTF_8));
+					out.flush();
+				} else if (line.equals(ROUND_START)){
+					board.reset();
+				} else if (line.startsWith("Player ") && line.contains(MOVE_MADE)){
+					if (line.charAt("Player ".length()) == '1'){
+						latency.record(System.nanoTime() - sentAt);
+					}
+					String move = line.substring(line.indexOf(MOVE_MADE) + MOVE_MADE.length());
+					board.markStickSequence(parseMove(move, board));
+				} else if (line.startsWith(RESULTS)){
+					return latency;
+				}
+			}
+		}
+		throw new IllegalStateException("The session ended before its results.");
+	}
+
+	/**
+	 * Parses a move printed by Move.toString, "row:left-right", made on the given board.
+	 */
+	private static Move parseMove(String move, Board board){
+		int colon = move.indexOf(':');
+		int dash = move.indexOf('-');
+		return Move.of(board.getShape(), Integer.parseInt(move.substring(0, colon)),
+				Integer.parseInt(move.substring(colon + 1, dash)),
+				Integer.parseInt(move.substring(dash + 1)));
+	}
+
+	/**
+	 * Converts nanoseconds to whole microseconds.
+	 */
+	private static long micros(long nanos){
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
@@ -0,0 +1,328 @@
+package oop.ex1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The strategy of the MCTS player: a Monte Carlo tree search. Every iteration walks down a tree of the
+ * positions reached from the board (choosing the moves by their UCT score), adds a position to it, and plays
+ * the rest of the round out with random moves on a copy of the board, the rollout; the result is counted in
+ * every position walked through. The search knows nothing about Nim but its rules, so it plays any variant
+ * the board plays, unlike the heuristic and the solver.
+ * The search of a move is limited by a budget of iterations or of time, and runs on several threads at once
+ * (root parallelization): every thread grows a tree of its own, from a random generator split from the
+ * player's, and the move played is the one the trees visited the most all together. The threads besides the
+ * caller are started on the first move and stopped when the strategy is closed. The strategy counts its
+ * rollouts and the time it searched, see getRolloutsPerSecond.
+ */
+public final class MctsStrategy implements Strategy {
+
+	/** The name of the MCTS player type. */
+	public static final String NAME = "MCTS";
+	/** The number of iterations of the search of a move, when no budget is set. */
+	public static final int DEFAULT_ITERATIONS = 20000;
+	/** The exploration constant of the UCT score, the square root of 2. */
+	private static final double EXPLORATION = Math.sqrt(2);
+	/** The number of iterations between two looks at the clock, in a search limited by time. */
+	private static final int CLOCK_INTERVAL = 64;
+
+	// The budget of the MCTS players created by the StrategyRegistry, see setDefaultBudget.
+	private static volatile int defaultIterations = DEFAULT_ITERATIONS;
+	private static volatile long defaultMillis = 0;
+	private static volatile int defaultThreads = 1;
+
+	private final BoardShape shape;
+	private final int iterations;
+	private final long budgetNanos;
+	private final int numThreads;
+	private final Board[] scratchBoards; // a board per thread, copied from the board of every move.
+	private ExecutorService helpers; // the threads searching besides the caller, created on the first move.
+	private final LongAdder rollouts = new LongAdder();
+	private final LongAdder searchNanos = new LongAdder();
+
+	/**
+	 * A position in the tree of a search, reached by a move from its parent.
+	 */
+	private static final class Node {
+		final Node parent;
+		final int move; // the packed move leading to this position, 0 at the root.
+		int[] moves; // the legal moves of the position, the first numChildren expanded, null until needed.
+		Node[] children;
+		int numChildren;
+		int visits;
+		int wins; // the rollouts won by the player who made the move leading to this position.
+
+		Node(Node parent, int move){
+			this.parent = parent;
+			this.move = move;
+		}
+	}
+
+	/**
+	 * Sets the budget of every MCTS player created from now on by the StrategyRegistry.
+	 * @param iterations the number of iterations of the search of a move, split between the threads, used
+	 * when no time is given.
+	 * @param millis the time the search of a move runs for, or 0 to limit it by iterations.
+	 * @param threads the number of threads searching every move.
+	 * @throws IllegalArgumentException if a number is out of range.
+	 */
+	public static void setDefaultBudget(int iterations, long millis, int threads){
+		checkBudget(iterations, millis, threads);
+		defaultIterations = iterations;
+		defaultMillis = millis;
+		defaultThreads = threads;
+	}
+
+	/**
+	 * Creates a strategy with the budget set by setDefaultBudget.
+	 * @param shape the shape of the boards the player plays on.
+	 */
+	public static MctsStrategy withDefaultBudget(BoardShape shape){
+		return new MctsStrategy(shape, defaultIterations, defaultMillis, defaultThreads);
+	}
+
+	/**
+	 * @param shape the shape of the boards the player plays on.
+	 * @param iterations the number of iterations of the search of a move, split between the threads, used
+	 * when no time is given.
+	 * @param millis the time the search of a move runs for, or 0 to limit it by iterations.
+	 * @param threads the number of threads searching every move.
+	 * @throws IllegalArgumentException if a number is out of range.
+	 */
+	public MctsStrategy(BoardShape shape, int iterations, long millis, int threads){
+		checkBudget(iterations, millis, threads);
+		this.shape = shape;
+		this.iterations = iterations;
+		budgetNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+		numThreads = threads;
+		scratchBoards = new Board[threads];
+		for (int i = 0; i < threads; i++){
+			scratchBoards[i] = new Board(shape);
+		}
+	}
+
+	private static void checkBudget(int iterations, long millis, int threads){
+		if (iterations < 1 || millis < 0 || threads < 1){
+			throw new IllegalArgumentException("An MCTS budget needs at least one iteration and one " +
+					"thread, got " + iterations + " iterations, " + millis + "ms and " + threads +
+					" threads.");
+		}
+	}
+
+	@Override
+	public Move produceMove(Board board, SplittableRandom random){
+		int[] rootMoves = legalMoves(board);
+		if (rootMoves.length == 1){
+			return Move.of(shape, rootMoves[0]);
+		}
+		long start = System.nanoTime();
+		long deadline = start + budgetNanos;
+		int[] visits = new int[rootMoves.length];
+		if (numThreads == 1){
+			addRootVisits(search(board, scratchBoards[0], random.split(), iterations, deadline), rootMoves,
+					visits);
+		} else {
+			if (helpers == null){
+				helpers = Executors.newFixedThreadPool(numThreads - 1, runnable -> {
+					Thread thread = new Thread(runnable, "mcts-search");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			List<Future<Node>> searches = new ArrayList<>();
+			for (int i = 1; i < numThreads; i++){
+				Board scratchBoard = scratchBoards[i];
+				SplittableRandom threadRandom = random.split();
+				int threadIterations = iterations / numThreads;
+				searches.add(helpers.submit(() -> search(board, scratchBoard, threadRandom, threadIterations,
+						deadline)));
+			}
+			addRootVisits(search(board, scratchBoards[0], random.split(),
+					iterations - (numThreads - 1) * (iterations / numThreads), deadline), rootMoves, visits);
+			for (Future<Node> search : searches){
+				try {
+					addRootVisits(search.get(), rootMoves, visits);
+				} catch (InterruptedException e){
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e){
+					throw new IllegalStateException("An MCTS search failed.", e.getCause());
+				}
+			}
+		}
+		searchNanos.add(System.nanoTime() - start);
+
+		int best = 0;
+		for (int i = 1; i < visits.length; i++){
+			if (visits[i] > visits[best]){
+				best = i;
+			}
+		}
+		return Move.of(shape, rootMoves[best]);
+	}
+
+	@Override
+	public String getName(){
+		return NAME;
+	}
+
+	/**
+	 * @return the number of rollouts played by the searches of all the moves so far.
+	 */
+	public long getRollouts(){
+		return rollouts.sum();
+	}
+
+	/**
+	 * @return the number of rollouts played per second of searching, by all the threads together, or 0 if
+	 * no move was searched yet.
+	 */
+	public double getRolloutsPerSecond(){
+		long nanos = searchNanos.sum();
+		return nanos == 0 ? 0 : rollouts.sum() * 1e9 / nanos;
+	}
+
+	/**
+	 * @return the number of threads searching every move.
+	 */
+	public int getNumberOfThreads(){
+		return numThreads;
+	}
+
+	/**
+	 * Adds the rollouts and the search time of another strategy to those of this one, so that the searches
+	 * of the players of a parallel competition are reported as one.
+	 * @param other the strategy whose searches to add.
+	 */
+	void addSearches(MctsStrategy other){
+		rollouts.add(other.rollouts.sum());
+		searchNanos.add(other.searchNanos.sum());
+	}
+
+	/**
+	 * Stops the threads searching besides the caller. The strategy can still search moves after, on threads
+	 * started again for them.
+	 */
+	@Override
+	public void close(){
+		if (helpers != null){
+			helpers.shutdown();
+			helpers = null;
+		}
+	}
+
+	/**
+	 * Grows a tree from the given board, until the budget of iterations or the deadline is reached.
+	 * @return the root of the tree.
+	 */
+	private Node search(Board board, Board scratchBoard, SplittableRandom random, int maxIterations,
+			long deadline){
+		Node root = new Node(null, 0);
+		boolean timed = budgetNanos > 0;
+		int iteration = 0;
+		while (timed ? (iteration % CLOCK_INTERVAL != 0 || System.nanoTime() < deadline) :
+				iteration < maxIterations){
+			iterate(root, board, scratchBoard, random);
+			iteration++;
+		}
+		rollouts.add(iteration);
+		return root;
+	}
+
+	/**
+	 * Runs a single iteration of the search: selection, expansion, rollout and backpropagation.
+	 */
+	private void iterate(Node root, Board board, Board scratchBoard, SplittableRandom random){
+		scratchBoard.copyFrom(board);
+		Node node = root;
+		// selection, down the expanded positions.
+		while (scratchBoard.getNumberOfUnmarkedSticks() > 0){
+			if (node.moves == null){
+				node.moves = legalMoves(scratchBoard);
+				node.children = new Node[node.moves.length];
+			}
+			if (node.numChildren < node.moves.length){
+				break;
+			}
+			node = selectChild(node);
+			scratchBoard.markStickSequence(Move.of(shape, node.move));
+		}
+		// expansion, of a random move not tried yet.
+		if (scratchBoard.getNumberOfUnmarkedSticks() > 0){
+			int[] moves = node.moves;
+			int untried = node.numChildren + random.nextInt(moves.length - node.numChildren);
+			int move = moves[untried];
+			moves[untried] = moves[node.numChildren];
+			moves[node.numChildren] = move;
+			Node child = new Node(node, move);
+			node.children[node.numChildren++] = child;
+			node = child;
+			scratchBoard.markStickSequence(Move.of(shape, move));
+		}
+		// rollout: whoever marks the last stick loses.
+		int rolloutMoves = 0;
+		while (scratchBoard.getNumberOfUnmarkedSticks() > 0){
+			scratchBoard.markStickSequence(RandomMoveSampler.produceMove(scratchBoard, random));
+			rolloutMoves++;
+		}
+		// backpropagation, the player who made the move into a position alternating on the way up.
+		boolean won = rolloutMoves % 2 == 1;
+		while (node != null){
+			node.visits++;
+			if (won){
+				node.wins++;
+			}
+			won = !won;
+			node = node.parent;
+		}
+	}
+
+	/**
+	 * @return the child of a fully expanded position with the highest UCT score.
+	 */
+	private static Node selectChild(Node node){
+		double logVisits = Math.log(node.visits);
+		Node best = null;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < node.numChildren; i++){
+			Node child = node.children[i];
+			double score = (double) child.wins / child.visits +
+					EXPLORATION * Math.sqrt(logVisits / child.visits);
+			if (score > bestScore){
+				bestScore = score;
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Adds the visits of the children of a root to the visits of the root moves, sorted like legalMoves.
+	 */
+	private static void addRootVisits(Node root, int[] rootMoves, int[] visits){
+		for (int i = 0; i < root.numChildren; i++){
+			Node child = root.children[i];
+			visits[Arrays.binarySearch(rootMoves, child.move)] += child.visits;
+		}
+	}
+
+	/**
+	 * @return the packed legal moves of the given board, in increasing order.
+	 */
+	private static int[] legalMoves(Board board){
+		int[] moves = new int[board.getNumberOfLegalMoves()];
+		PrimitiveIterator.OfInt legalMoves = board.legalMoveIterator();
+		for (int i = 0; i < moves.length; i++){
+			moves[i] = legalMoves.nextInt();
+		}
+		return moves;
+	}
+}
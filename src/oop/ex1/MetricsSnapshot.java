@@ -0,0 +1,135 @@
+package oop.ex1;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The MetricsSnapshot class is an immutable copy of the metrics of a competition at some moment, which can
+ * be written as a JSON object.
+ */
+public class MetricsSnapshot {
+
+	/** The percentiles of the move latencies written to JSON. */
+	private static final double[] PERCENTILES = {50, 90, 99};
+
+	private final Map<String, LatencyHistogram> moveLatencies;
+	private final long[] movesPerRound;
+	private final long outOfBoundsMoves;
+	private final long overlappingMoves;
+	private final long rounds;
+	private final long elapsedNanos;
+
+	/**
+	 * Copies the given metrics.
+	 */
+	MetricsSnapshot(Map<String, LatencyHistogram> moveLatencies, long[] movesPerRound, long outOfBoundsMoves,
+					long overlappingMoves, long rounds, long elapsedNanos){
+		Map<String, LatencyHistogram> latencies = new LinkedHashMap<String, LatencyHistogram>();
+		for (Map.Entry<String, LatencyHistogram> entry : moveLatencies.entrySet()){
+			LatencyHistogram copy = new LatencyHistogram();
+			copy.merge(entry.getValue());
+			latencies.put(entry.getKey(), copy);
+		}
+		this.moveLatencies = Collections.unmodifiableMap(latencies);
+		this.movesPerRound = movesPerRound.clone();
+		this.outOfBoundsMoves = outOfBoundsMoves;
+		this.overlappingMoves = overlappingMoves;
+		this.rounds = rounds;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return the move latency histograms by player type name. The histograms must not be changed.
+	 */
+	public Map<String, LatencyHistogram> getMoveLatencies(){
+		return moveLatencies;
+	}
+
+	/**
+	 * @return the number of rounds that took every number of moves, indexed by the number of moves.
+	 */
+	public long[] getMovesPerRound(){
+		return movesPerRound.clone();
+	}
+
+	/**
+	 * @return the number of moves rejected for exceeding the boundaries of the board (error code -1).
+	 */
+	public long getOutOfBoundsMoves(){
+		return outOfBoundsMoves;
+	}
+
+	/**
+	 * @return the number of moves rejected for covering marked sticks (error code -2).
+	 */
+	public long getOverlappingMoves(){
+		return overlappingMoves;
+	}
+
+	/**
+	 * @return the number of rounds played.
+	 */
+	public long getRounds(){
+		return rounds;
+	}
+
+	/**
+	 * @return the number of rounds played per second of measured time, 0 if no time was measured.
+	 */
+	public double getRoundsPerSecond(){
+		return elapsedNanos == 0 ? 0 : rounds * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * @return the metrics as a JSON object.
+	 */
+	public String toJson(){
+		StringBuilder json = new StringBuilder();
+		json.append("{\n  \"rounds\": ").append(rounds);
+		json.append(",\n  \"elapsedSeconds\": ").append(elapsedNanos / 1e9);
+		json.append(",\n  \"roundsPerSecond\": ").append(getRoundsPerSecond());
+		json.append(",\n  \"invalidMoves\": {\"outOfBounds\": ").append(outOfBoundsMoves)
+				.append(", \"overlapping\": ").append(overlappingMoves).append('}');
+
+		json.append(",\n  \"movesPerRound\": {");
+		boolean first = true;
+		for (int numMoves = 0; numMoves < movesPerRound.length; numMoves++){
+			if (movesPerRound[numMoves] > 0){
+				json.append(first ? "" : ", ").append('"').append(numMoves).append("\": ")
+						.append(movesPerRound[numMoves]);
+				first = false;
+			}
+		}
+		json.append('}');
+
+		json.append(",\n  \"moveLatencyNanos\": {");
+		first = true;
+		for (Map.Entry<String, LatencyHistogram> entry : moveLatencies.entrySet()){
+			LatencyHistogram histogram = entry.getValue();
+			long mean = histogram.getCount() == 0 ? 0 : histogram.getTotalNanos() / histogram.getCount();
+			json.append(first ? "\n" : ",\n").append("    \"").append(entry.getKey())
+					.append("\": {\"count\": ").append(histogram.getCount())
+					.append(", \"mean\": ").append(mean);
+			for (double percentile : PERCENTILES){
+				json.append(", \"p").append((int) percentile).append("\": ")
+						.append(histogram.getPercentileNanos(percentile));
+			}
+			json.append(", \"max\": ").append(histogram.getMaxNanos()).append(", \"buckets\": {");
+			long[] buckets = histogram.getBuckets();
+			boolean firstBucket = true;
+			for (int i = 0; i < buckets.length; i++){
+				if (buckets[i] > 0){
+					long upperBound = (i + 1 < Long.SIZE - 1) ? 1L << (i + 1) : Long.MAX_VALUE;
+					json.append(firstBucket ? "" : ", ").append("\"<").append(upperBound).append("\": ")
+							.append(buckets[i]);
+					firstBucket = false;
+				}
+			}
+			json.append("}}");
+			first = false;
+		}
+		json.append(first ? "}" : "\n  }").append("\n}\n");
+		return json.toString();
+	}
+}
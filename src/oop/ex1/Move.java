@@ -0,0 +1,152 @@
+package oop.ex1;
+
+/**
+ * A move marking the sticks leftBound to rightBound of a row. A move is immutable, so the moves inside a
+ * board of some shape are preallocated once per shape and shared: Move.of returns the canonical instance
+ * instead of allocating a new one. A move can also be packed into a single int, for code that needs no
+ * object at all.
+ * @author xelanos
+ */
+public class Move {
+
+    /** The number of bits of a packed move holding each of its bounds. */
+    private static final int BOUND_LENGTH = 8;
+    private static final int BOUND_MASK = (1 << BOUND_LENGTH) - 1;
+
+    private final int row;
+    private final int leftBound;
+    private final int rightBound;
+
+
+    /**
+     * Creates a new move. The moves inside a board are better taken from Move.of, which returns the
+     * instances preallocated by the BoardShape instead of allocating.
+     * @param inRow the row of the move.
+     * @param inLeft the leftmost stick of the move.
+     * @param inRight the rightmost stick of the move.
+     */
+    public Move(int inRow, int inLeft, int inRight){
+        row = inRow;
+        leftBound = inLeft;
+        rightBound = inRight;
+
+    }
+
+    /**
+     * Returns the move marking the given sticks. Moves inside a board of the given shape are the canonical
+     * instances of the shape, any other move (such as one typed by a human beyond the board) is a new
+     * object.
+     * @param shape the shape of the board the move is made on.
+     * @param row the row of the move.
+     * @param leftBound the leftmost stick of the move.
+     * @param rightBound the rightmost stick of the move.
+     * @return the move.
+     */
+    public static Move of(BoardShape shape, int row, int leftBound, int rightBound){
+        if (row < 1 || row > shape.getNumberOfRows() || leftBound < 1 || leftBound > rightBound ||
+                rightBound > shape.getRowLength(row)){
+            return new Move(row, leftBound, rightBound);
+        }
+        return shape.getMove(row, leftBound, rightBound);
+    }
+
+    /**
+     * Returns the move of the given packed code, see pack.
+     * @param shape the shape of the board the move is made on.
+     * @param packedMove the packed move.
+     * @return the move.
+     */
+    public static Move of(BoardShape shape, int packedMove){
+        return of(shape, unpackRow(packedMove), unpackLeftBound(packedMove), unpackRightBound(packedMove));
+    }
+
+    /**
+     * Packs a move into an int: the row in the high 16 bits, then the left bound and the right bound in 8
+     * bits each. Any move on a board (of up to 32767 rows) can be packed, and the packed codes of the moves
+     * of a row are ordered like their bounds.
+     * @param row the row of the move.
+     * @param leftBound the leftmost stick of the move, at most 255.
+     * @param rightBound the rightmost stick of the move, at most 255.
+     * @return the packed move.
+     */
+    public static int pack(int row, int leftBound, int rightBound){
+        return (row << (2 * BOUND_LENGTH)) | (leftBound << BOUND_LENGTH) | rightBound;
+    }
+
+    /**
+     * @return the row of a packed move.
+     */
+    public static int unpackRow(int packedMove){
+        return packedMove >>> (2 * BOUND_LENGTH);
+    }
+
+    /**
+     * @return the left bound of a packed move.
+     */
+    public static int unpackLeftBound(int packedMove){
+        return (packedMove >>> BOUND_LENGTH) & BOUND_MASK;
+    }
+
+    /**
+     * @return the right bound of a packed move.
+     */
+    public static int unpackRightBound(int packedMove){
+        return packedMove & BOUND_MASK;
+    }
+
+    /**
+     * @return this move packed into an int, see pack.
+     */
+    public int pack(){
+        return pack(row, leftBound, rightBound);
+    }
+
+    /**
+     * string representation
+     * @return string representation
+     */
+    public String toString(){
+        return row+":"+ leftBound +"-"+ rightBound;
+    }
+
+    /**
+     * @return true if the other object is a move of the same row and bounds.
+     */
+    @Override
+    public boolean equals(Object other){
+        if (!(other instanceof Move)){
+            return false;
+        }
+        Move move = (Move) other;
+        return row == move.row && leftBound == move.leftBound && rightBound == move.rightBound;
+    }
+
+    @Override
+    public int hashCode(){
+        return pack();
+    }
+
+    /**
+     * Left Bound getter
+     * @return the integer of the left bound
+     */
+    public int getLeftBound() {
+        return leftBound;
+    }
+
+    /**
+     * Right bound getter
+     * @return the integer of right bound
+     */
+    public int getRightBound() {
+        return rightBound;
+    }
+
+    /**
+     * Row getter
+     * @return the integer of the row.
+     */
+    public int getRow() {
+        return row;
+    }
+}
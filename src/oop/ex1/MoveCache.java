@@ -0,0 +1,277 @@
+package oop.ex1;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The MoveCache class remembers the moves a strategy produced on the positions it was asked about, so that
+ * the same position asked again costs a lookup instead of a computation. The positions are keyed by the
+ * Zobrist hash of their board, and every entry keeps the rows and shape of its board, so a collision of two
+ * hashes is a miss and never a wrong move.
+ * The cache holds up to a given number of moves, in a table of exactly that many slots grouped into sets of
+ * about WAYS slots: the hash of a position chooses its set, the position can take any slot of the set, and
+ * when the set is full the least recently used move of the set is evicted for it. The table is made of
+ * arrays of primitives, so a lookup boxes nothing, and a hit only stamps its slot with the time of the use.
+ * It is safe to share between threads: it is split into stripes, each a share of the sets behind its own
+ * lock, chosen by the high bits of the hash, so threads working on different positions rarely wait for each
+ * other. The hits, misses and evictions are counted without locking.
+ */
+public class MoveCache {
+
+	/** The number of moves a cache holds when no capacity is given. */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+	/** The number of slots of a set, among which the least recently used move is evicted. */
+	static final int WAYS = 8;
+
+	/**
+	 * A stripe of the cache, the sets of a share of its capacity. The share is spread evenly between the
+	 * sets, so if it is not a multiple of WAYS some sets have a slot less than others. A slot is empty while
+	 * its move is 0, which no packed move is.
+	 */
+	private static final class Stripe {
+		final long[] hashes;
+		final int[] moves; // packed, see Move.pack.
+		final long[][] rows; // the rows of the board of every move, reused by the moves replacing it.
+		final BoardShape[] shapes;
+		final long[] lastUses; // the time every slot was last used, see clock.
+		final int numSets;
+		final int setSize; // the number of slots of the smaller sets.
+		final int extraSlots; // the number of first sets with a slot more.
+		long clock; // counts the uses of the slots of the stripe.
+		int size;
+
+		Stripe(int capacity){
+			hashes = new long[capacity];
+			moves = new int[capacity];
+			rows = new long[capacity][];
+			shapes = new BoardShape[capacity];
+			lastUses = new long[capacity];
+			numSets = (capacity + WAYS - 1) / WAYS;
+			setSize = capacity / numSets;
+			extraSlots = capacity % numSets;
+		}
+
+		/**
+		 * @return the set of the position of the given hash, chosen by its low bits (the high ones choose
+		 * the stripe).
+		 */
+		int setOf(long hash){
+			return (int) (((hash & 0xFFFFFFFFL) * numSets) >>> Integer.SIZE);
+		}
+
+		/**
+		 * @return the first slot of the given set.
+		 */
+		int firstSlot(int set){
+			return set * setSize + Math.min(set, extraSlots);
+		}
+
+		/**
+		 * @return the slot after the last slot of the given set.
+		 */
+		int endSlot(int set){
+			return firstSlot(set) + setSize + (set < extraSlots ? 1 : 0);
+		}
+
+		/**
+		 * @return the slot of the given set which holds the move of the position on the given board, or -1
+		 * if there is none.
+		 */
+		int find(int set, long hash, Board board){
+			int end = endSlot(set);
+			for (int slot = firstSlot(set); slot < end; slot++){
+				if (holds(slot, hash, board)){
+					return slot;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * @return the slot of the given set to put a new move into: an empty one if there is one, the least
+		 * recently used one otherwise.
+		 */
+		int victim(int set){
+			int end = endSlot(set);
+			int victim = firstSlot(set);
+			for (int slot = victim; slot < end; slot++){
+				if (moves[slot] == 0){
+					return slot;
+				}
+				if (lastUses[slot] < lastUses[victim]){
+					victim = slot;
+				}
+			}
+			return victim;
+		}
+
+		/**
+		 * @return true if the given slot holds the move of the position on the given board.
+		 */
+		boolean holds(int slot, long hash, Board board){
+			if (moves[slot] == 0 || hashes[slot] != hash){
+				return false;
+			}
+			long[] slotRows = rows[slot];
+			if (slotRows.length != board.getNumberOfRows()){
+				return false;
+			}
+			for (int row = 1; row <= slotRows.length; row++){
+				if (slotRows[row-1] != board.getRowBits(row)){
+					return false;
+				}
+			}
+			return shapes[slot] == board.getShape() || shapes[slot].equals(board.getShape());
+		}
+	}
+
+	private final Stripe[] stripes;
+	private final int stripeShift;
+	private final int capacity;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a cache of DEFAULT_CAPACITY moves.
+	 */
+	public MoveCache(){
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity the largest number of moves the cache holds.
+	 * @throws IllegalArgumentException if the capacity is not positive.
+	 */
+	public MoveCache(int capacity){
+		if (capacity < 1){
+			throw new IllegalArgumentException("A move cache must hold at least one move, got " + capacity +
+					".");
+		}
+		// A few stripes per processor, but none holding less than a few moves.
+		int numStripes = Integer.highestOneBit(Math.max(1,
+				Math.min(4 * Runtime.getRuntime().availableProcessors(), capacity / 16)));
+		stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(numStripes);
+		stripes = new Stripe[numStripes];
+		for (int i = 0; i < numStripes; i++){
+			// the slots left over by the division go to the first stripes, so they add up to the capacity.
+			stripes[i] = new Stripe(capacity / numStripes + (i < capacity % numStripes ? 1 : 0));
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Looks up the move cached for the position on the given board.
+	 * @param board the board.
+	 * @return the cached move, or null if there is none.
+	 */
+	public Move get(Board board){
+		long hash = board.getPositionHash();
+		Stripe stripe = stripeOf(hash);
+		int set = stripe.setOf(hash);
+		int move = 0;
+		synchronized (stripe){
+			int slot = stripe.find(set, hash, board);
+			if (slot >= 0){
+				stripe.lastUses[slot] = ++stripe.clock;
+				move = stripe.moves[slot];
+			}
+		}
+		if (move == 0){
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return Move.of(board.getShape(), move);
+	}
+
+	/**
+	 * Caches the move produced on the position on the given board, evicting the least recently used move of
+	 * its set if the set is full.
+	 * @param board the board.
+	 * @param move the move produced on it.
+	 */
+	public void put(Board board, Move move){
+		long hash = board.getPositionHash();
+		Stripe stripe = stripeOf(hash);
+		int set = stripe.setOf(hash);
+		int numRows = board.getNumberOfRows();
+		synchronized (stripe){
+			int slot = stripe.find(set, hash, board);
+			if (slot < 0){
+				slot = stripe.victim(set);
+				if (stripe.moves[slot] == 0){
+					stripe.size++;
+				} else {
+					evictions.increment();
+				}
+				long[] slotRows = stripe.rows[slot];
+				if (slotRows == null || slotRows.length != numRows){
+					slotRows = new long[numRows];
+					stripe.rows[slot] = slotRows;
+				}
+				for (int row = 1; row <= numRows; row++){
+					slotRows[row-1] = board.getRowBits(row);
+				}
+				stripe.hashes[slot] = hash;
+				stripe.shapes[slot] = board.getShape();
+			}
+			stripe.moves[slot] = move.pack();
+			stripe.lastUses[slot] = ++stripe.clock;
+		}
+	}
+
+	private Stripe stripeOf(long hash){
+		return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+	}
+
+	/**
+	 * @return the largest number of moves the cache holds.
+	 */
+	public int getCapacity(){
+		return capacity;
+	}
+
+	/**
+	 * @return the number of moves in the cache.
+	 */
+	public int size(){
+		int size = 0;
+		for (Stripe stripe : stripes){
+			synchronized (stripe){
+				size += stripe.size;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return the number of lookups that found their move.
+	 */
+	public long getHits(){
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of lookups that did not find their move.
+	 */
+	public long getMisses(){
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of moves evicted to make room for others.
+	 */
+	public long getEvictions(){
+		return evictions.sum();
+	}
+
+	/**
+	 * @return the counters of the cache, on a line.
+	 */
+	public String toString(){
+		long hits = getHits(), lookups = hits + getMisses();
+		return String.format("%d hits, %d misses (%.1f%% hit rate), %d evictions, %d of %d moves cached",
+				hits, lookups - hits, lookups == 0 ? 0.0 : 100.0 * hits / lookups, getEvictions(), size(),
+				capacity);
+	}
+}
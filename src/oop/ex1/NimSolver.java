@@ -0,0 +1,249 @@
+package oop.ex1;
+
+/**
+ * The NimSolver class finds perfect moves for the Smart player by searching the game tree. Marking a
+ * sequence of sticks only affects the contiguous segment of unmarked sticks it is taken from, so a board is
+ * reduced to the multiset of the lengths of its unmarked segments (the same segmentation the heuristic
+ * player uses), and two boards with the same multiset are the same position. The result of every position
+ * that was searched is kept, together with its winning move, in a transposition table shared by all the
+ * solvers, so a position which was already met in an earlier round is answered by a single lookup. The
+ * table is bounded, a position whose result it lost is searched again.
+ * Remember that the player who marks the last stick loses the round.
+ */
+public class NimSolver {
+
+	/** The largest segment length a board row can hold. */
+	private static final int MAX_SEGMENT_LENGTH = Long.SIZE;
+	/** The number of bits a position key can use. */
+	private static final int KEY_LENGTH = Long.SIZE - 1;
+	/** Marks a losing position in the transposition table. */
+	private static final int LOSING = 0;
+	/** The number of bits of each part of a packed winning move. */
+	private static final int MOVE_PART_LENGTH = 8;
+	/** Masks a single part of a packed winning move. */
+	private static final int MOVE_PART_MASK = (1 << MOVE_PART_LENGTH) - 1;
+
+	/**
+	 * Maps the key of the positions searched so far to LOSING, or to their packed winning move: the length
+	 * of the segment to mark in, the number of sticks to skip in it and the number of sticks to mark.
+	 */
+	private static final TranspositionTable transpositionTable =
+			new TranspositionTable(TranspositionTable.DEFAULT_CAPACITY);
+
+	/* The number of segments of every length in the position being solved, indexed by length. */
+	private final int[] segmentCounts = new int[MAX_SEGMENT_LENGTH + 1];
+	/* The row bitmasks of the last board solved, grown when a board with more rows is met. */
+	private long[] boardRows = new long[0];
+
+	/**
+	 * @param board a board.
+	 * @return true if the position on the board is small enough to be solved.
+	 */
+	public static boolean canSolve(Board board){
+		return board.getNumberOfUnmarkedSticks() + board.getNumberOfSegments() <= KEY_LENGTH;
+	}
+
+	/**
+	 * Decides the position on the given board without searching, by the rule of misere Nim: a segment of n
+	 * sticks is worth a Nim heap of n, so the player to move can force a win exactly when the binary sum of
+	 * the segment lengths is not zero, unless no segment is longer than one stick, in which case he wins
+	 * exactly when the number of segments is even. The rule agrees with the search on every position of the
+	 * standard board and of the 10,8,6 and 22 boards.
+	 * @param board a board with at least one unmarked stick.
+	 * @return true if the player to move can force a win, false if he loses against perfect play.
+	 */
+	public static boolean isWinningByNimSum(Board board){
+		if (board.getNumberOfSegmentsOfLength(1) == board.getNumberOfSegments()){
+			return board.getNumberOfSegments() % 2 == 0;
+		}
+		return board.getNimSum() != 0;
+	}
+
+	/**
+	 * Solves the position on the given board by searching it.
+	 * @param board a board whose position can be solved, see canSolve.
+	 * @return true if the player to move can force a win, false if he loses against perfect play.
+	 * @throws IllegalArgumentException if the position is too large to be solved.
+	 */
+	public boolean isWinning(Board board){
+		if (!canSolve(board)){
+			throw new IllegalArgumentException("The position is too large to be solved.");
+		}
+		countSegments(board);
+		return solve(positionKey()) != LOSING;
+	}
+
+	/**
+	 * Finds the best move on the given board. If the player to move can force a win, the returned move is a
+	 * winning one. Otherwise the move marks a single stick from the longest segment, leaving the opponent as
+	 * many chances to go wrong as possible.
+	 * @param board a board with at least one unmarked stick.
+	 * @return the best move on the board, or null if the board is too large to be solved.
+	 */
+	public Move produceMove(Board board){
+		// The board keeps its segments counted, so the rows are only scanned to place the chosen move.
+		if (!canSolve(board)){
+			return null;
+		}
+		countSegments(board);
+		int numRows = board.getNumberOfRows();
+		if (boardRows.length < numRows){
+			boardRows = new long[numRows];
+		}
+		for (int row = 1; row <= numRows; row++){
+			boardRows[row-1] = board.getRowBits(row);
+		}
+		return produceCountedMove(board.getShape(), boardRows);
+	}
+
+	/**
+	 * Finds the best move on the board with the given rows, see produceMove(Board).
+	 * @param shape the shape of the board.
+	 * @param rowBits the bitmask of every row of the board, a set bit is an unmarked stick.
+	 * @return the best move on the board, or null if the board is too large to be solved.
+	 */
+	public Move produceMove(BoardShape shape, long[] rowBits){
+		if (!countSegments(rowBits, shape.getNumberOfRows())){
+			return null;
+		}
+		return produceCountedMove(shape, rowBits);
+	}
+
+	/**
+	 * Finds the best move on the board with the given rows, whose segments are already in the segment
+	 * counts.
+	 */
+	private Move produceCountedMove(BoardShape shape, long[] rowBits){
+		int result = solve(positionKey());
+		if (result == LOSING){
+			int longest = MAX_SEGMENT_LENGTH;
+			while (segmentCounts[longest] == 0){
+				longest--;
+			}
+			return findMoveInSegment(shape, rowBits, longest, 0, 1);
+		}
+		return findMoveInSegment(shape, rowBits, result >>> (2 * MOVE_PART_LENGTH),
+				(result >>> MOVE_PART_LENGTH) & MOVE_PART_MASK, result & MOVE_PART_MASK);
+	}
+
+	/**
+	 * Fills the segment counts with the segments the given board keeps counted.
+	 */
+	private void countSegments(Board board){
+		for (int length = 1; length <= MAX_SEGMENT_LENGTH; length++){
+			segmentCounts[length] = board.getNumberOfSegmentsOfLength(length);
+		}
+	}
+
+	/**
+	 * Fills the segment counts with the unmarked segments of the board.
+	 * @param boardRows the bitmask of every row of the board.
+	 * @param numRows the number of rows of the board.
+	 * @return true if the resulting position fits in a key, false if it is too large.
+	 */
+	private boolean countSegments(long[] boardRows, int numRows){
+		int keyLength = 0;
+		for (int length = 1; length <= MAX_SEGMENT_LENGTH; length++){
+			segmentCounts[length] = 0;
+		}
+		for (int row = 1; row <= numRows; row++){
+			long rowBits = boardRows[row-1];
+			while (rowBits != 0){
+				int start = Long.numberOfTrailingZeros(rowBits);
+				int length = Long.numberOfTrailingZeros(~(rowBits >>> start));
+				segmentCounts[length]++;
+				keyLength += length + 1;
+				rowBits &= rowBits + (1L << start); // clears the lowest segment
+			}
+		}
+		return keyLength <= KEY_LENGTH;
+	}
+
+	/**
+	 * Builds the key of the current position: the segments, from the shortest to the longest, written one
+	 * after the other as a run of set bits as long as the segment, followed by a single clear bit.
+	 */
+	private long positionKey(){
+		long key = 0;
+		for (int length = 1; length <= MAX_SEGMENT_LENGTH; length++){
+			for (int i = 0; i < segmentCounts[length]; i++){
+				key = (key << (length + 1)) | ((-1L >>> (Long.SIZE - length)) << 1);
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Searches the current position, whose key is given, for a winning move.
+	 * @return LOSING if the player to move loses against perfect play, the packed winning move otherwise.
+	 */
+	private int solve(long key){
+		if (key == 0){
+			return 1; // the opponent marked the last stick, any non-losing value will do.
+		}
+		int known = transpositionTable.get(key);
+		if (known != TranspositionTable.NOT_FOUND){
+			return known;
+		}
+		int result = LOSING;
+		search:
+		for (int length = 1; length <= MAX_SEGMENT_LENGTH; length++){
+			if (segmentCounts[length] == 0){
+				continue;
+			}
+			for (int marked = 1; marked <= length; marked++){
+				for (int left = 0; left <= (length - marked) / 2; left++){
+					int right = length - marked - left;
+					splitSegment(length, left, right, -1);
+					boolean opponentLoses = solve(positionKey()) == LOSING;
+					splitSegment(length, left, right, 1);
+					if (opponentLoses){
+						result = (length << (2 * MOVE_PART_LENGTH)) | (left << MOVE_PART_LENGTH) | marked;
+						break search;
+					}
+				}
+			}
+		}
+		transpositionTable.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Replaces a segment by the two segments left of it when sticks are marked in its middle, or reverts
+	 * this replacement.
+	 * @param length the length of the segment.
+	 * @param left the length of the segment left on its left side (may be 0).
+	 * @param right the length of the segment left on its right side (may be 0).
+	 * @param direction -1 to split the segment, 1 to revert the split.
+	 */
+	private void splitSegment(int length, int left, int right, int direction){
+		segmentCounts[length] += direction;
+		segmentCounts[left] -= direction;
+		segmentCounts[right] -= direction;
+		segmentCounts[0] = 0;
+	}
+
+	/**
+	 * Translates a move on a segment length to a move on the first segment of that length on the board.
+	 * @param shape the shape of the board.
+	 * @param boardRows the bitmask of every row of the board.
+	 * @param length the length of the segment to mark sticks in.
+	 * @param skipped the number of sticks to leave on the left side of the segment.
+	 * @param marked the number of sticks to mark.
+	 * @return the move on the board.
+	 */
+	private Move findMoveInSegment(BoardShape shape, long[] boardRows, int length, int skipped, int marked){
+		for (int row = 1; row <= shape.getNumberOfRows(); row++){
+			long rowBits = boardRows[row-1];
+			while (rowBits != 0){
+				int start = Long.numberOfTrailingZeros(rowBits);
+				if (Long.numberOfTrailingZeros(~(rowBits >>> start)) == length){
+					int leftBound = start + skipped + 1;
+					return Move.of(shape, row, leftBound, leftBound + marked - 1);
+				}
+				rowBits &= rowBits + (1L << start);
+			}
+		}
+		return null; // will not get to this line
+	}
+}
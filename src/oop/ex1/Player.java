@@ -0,0 +1,216 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.Scanner;
+
+
+/**
+ * The Player class represents a player in the Nim game, producing Moves as a response to a Board state.
+ * Each player is initialized with a type, either human or one of several computer strategies, which
+ * defines the move he produces when given a board in some state. The heuristic strategy of the player is
+ * already implemented.  You are required to implement the rest of the player types according to the exercise
+ * description.
+ * The moves are chosen by the Strategy of the player type, created by the StrategyRegistry, while the player
+ * keeps its id and random generator. A player is closed when it is done playing, which closes its strategy.
+ * @author OOP course staff
+ */
+public class Player implements AutoCloseable {
+
+	//Constants that represent the different players.
+	/** The constant integer representing the Random player type. */
+	public static final int RANDOM = 1;
+	/** The constant integer representing the Heuristic player type. */
+	public static final int HEURISTIC = 2;
+	/** The constant integer representing the Smart player type. */
+	public static final int SMART = 3;
+	/** The constant integer representing the Human player type. */
+	public static final int HUMAN = 4;
+	/** The constant integer representing the Tablebase player type. */
+	public static final int TABLEBASE = 5;
+	/** The constant integer representing the MCTS player type. */
+	public static final int MCTS = 6;
+	/** A human player who does not answer in time plays a random move. */
+	public static final int FALLBACK_RANDOM = 1;
+	/** A human player who does not answer in time forfeits the round. */
+	public static final int FALLBACK_FORFEIT = 2;
+
+
+	private final int playerType;
+	private final int playerId;
+	private final Strategy strategy;
+	private SplittableRandom random;
+
+	/**
+	 * Initializes a new player of the given type and the given id, and an initialized scanner, playing on
+	 * standard boards.
+	 * @param type The type of the player to create.
+	 * @param id The id of the player (either 1 or 2).
+	 * @param inputScanner The Scanner object through which to get user input
+	 * for the Human player type.
+	 */
+	public Player(int type, int id, Scanner inputScanner){
+		this(type, id, inputScanner, BoardShape.STANDARD);
+	}
+
+	/**
+	 * Initializes a new player of the given type and the given id, and an initialized scanner, playing on
+	 * boards of the given shape.
+	 * @param type The type of the player to create.
+	 * @param id The id of the player (either 1 or 2).
+	 * @param inputScanner The Scanner object through which to get user input
+	 * for the Human player type.
+	 * @param shape The shape of the boards the player plays on.
+	 */
+	public Player(int type, int id, Scanner inputScanner, BoardShape shape){
+		this(type, id, inputScanner, shape, new SplittableRandom());
+	}
+
+	/**
+	 * Initializes a new player as above, whose random moves are drawn from a generator of the given seed, so
+	 * that the moves of two players created with the same seed are the same.
+	 * @param type The type of the player to create.
+	 * @param id The id of the player (either 1 or 2).
+	 * @param inputScanner The Scanner object through which to get user input
+	 * for the Human player type.
+	 * @param shape The shape of the boards the player plays on.
+	 * @param seed The seed of the random generator of the player.
+	 */
+	public Player(int type, int id, Scanner inputScanner, BoardShape shape, long seed){
+		this(type, id, inputScanner, shape, new SplittableRandom(seed));
+	}
+
+	private Player(int type, int id, Scanner inputScanner, BoardShape shape, SplittableRandom random){
+		// Check for legal player type.
+		if (!StrategyRegistry.isRegistered(type)){
+			System.out.println("Received an unknown player type as a parameter"
+					+ " in Player constructor. Terminating.");
+			System.exit(-1);
+		}
+		playerType = type;
+		playerId = id;
+		this.random = random;
+		Strategy created = null;
+		try {
+			created = StrategyRegistry.create(type, shape, inputScanner);
+		} catch (IOException e){
+			System.out.println("Could not create the " + StrategyRegistry.getName(type) + " player (" + e +
+					"). Terminating.");
+			System.exit(-1);
+		}
+		strategy = created;
+	}
+
+	/**
+	 * @return an integer matching the player type.
+	 */
+	public int getPlayerType(){
+		return playerType;
+	}
+
+	/**
+	 * @return the players id number.
+	 */
+	public int getPlayerId(){
+		return playerId;
+	}
+
+	/**
+	 * Shows the prompts of a human player on the given stream instead of the standard output, for a human
+	 * who plays from elsewhere (see GameServer).
+	 * @param out the stream to print the prompts to.
+	 */
+	public void setOutput(PrintStream out){
+		if (getBaseStrategy() instanceof HumanStrategy){
+			((HumanStrategy) getBaseStrategy()).setOutput(out);
+		}
+	}
+
+	/**
+	 * Makes a human player read its input from the given reader, with a time limit on every move, instead of
+	 * blocking on the scanner until an answer is typed. Has no effect on computer players.
+	 * @param input the reader of the numbers typed by the human.
+	 * @param moveTimeoutMillis the time a human has to complete a move, from the moment he is asked for it.
+	 * @param fallback what happens when the time is up: FALLBACK_RANDOM plays a random move for the human,
+	 * FALLBACK_FORFEIT makes produceMove return null, forfeiting the round.
+	 * @throws IllegalArgumentException if the fallback is neither of the above or the timeout is not
+	 * positive.
+	 */
+	public void setHumanInput(HumanInputReader input, long moveTimeoutMillis, int fallback){
+		if (fallback != FALLBACK_RANDOM && fallback != FALLBACK_FORFEIT){
+			throw new IllegalArgumentException("Unknown timeout fallback " + fallback + ".");
+		}
+		if (moveTimeoutMillis <= 0){
+			throw new IllegalArgumentException("The move timeout must be positive, got " +
+					moveTimeoutMillis + ".");
+		}
+		if (getBaseStrategy() instanceof HumanStrategy){
+			((HumanStrategy) getBaseStrategy()).setHumanInput(input, moveTimeoutMillis, fallback);
+		}
+	}
+
+	/**
+	 * Tells whether the player plays perfectly from the position on the given board, such as a Smart or
+	 * Tablebase player on a position small enough for it to be solved.
+	 * @param board the board the player is to play on.
+	 * @return true if the player never misses a win from the position.
+	 */
+	public boolean playsPerfectly(Board board){
+		return strategy.playsPerfectly(board);
+	}
+
+	/**
+	 * Restarts the random generator of the player from the given seed.
+	 * @param seed the new seed of the random generator.
+	 */
+	public void setSeed(long seed){
+		random = new SplittableRandom(seed);
+	}
+
+
+	/**
+	 * @return a String matching the player type.
+	 */
+	public String getTypeName(){
+		return strategy.getName();
+	}
+
+	/**
+	 * @return the strategy the player chooses its moves with.
+	 */
+	public Strategy getStrategy(){
+		return strategy;
+	}
+
+	/**
+	 * @return the strategy the player chooses its moves with, without the cache it may be wrapped in.
+	 */
+	public Strategy getBaseStrategy(){
+		return strategy instanceof CachingStrategy ? ((CachingStrategy) strategy).getStrategy() : strategy;
+	}
+
+	/**
+	 * This method encapsulates all the reasoning of the player about the game. The player is given the
+	 * board object, and is required to return his next move on the board. The choice of the move depends
+	 * on the type of the player: a human player chooses his move manually; the random player should
+	 * return some random move; the Smart player can represent any reasonable strategy; the Heuristic
+	 * player uses a strong heuristic to choose a move; the Tablebase player reads the best move from a
+	 * precomputed tablebase; and any other registered type plays by its own strategy.
+	 * @param board - a Board object representing the current state of the game.
+	 * @return a Move object representing the move that the current player will play according to
+	 * his strategy, or null if a human player with a time limit forfeits the round.
+	 */
+	public Move produceMove(Board board){
+		return strategy.produceMove(board, random);
+	}
+
+	/**
+	 * Releases the resources of the strategy of the player (see Strategy.close), once it is done playing.
+	 */
+	@Override
+	public void close(){
+		strategy.close();
+	}
+}
@@ -0,0 +1,85 @@
+package oop.ex1;
+
+import java.util.SplittableRandom;
+
+/**
+ * The RandomMoveSampler class draws a uniformly random legal move from a board with a single random draw.
+ * The board keeps the number of legal moves in each of its rows up to date, so the draw picks an index
+ * among all the legal moves, and the index is then walked down to its row, its segment of unmarked sticks
+ * and finally its leftmost and rightmost sticks. Nothing is ever rejected, so the cost of a move does not
+ * grow as the board empties.
+ */
+public class RandomMoveSampler {
+
+	/**
+	 * Draws a random legal move, every legal move on the board being equally likely.
+	 * @param board a board with at least one unmarked stick.
+	 * @param random the random generator to draw from.
+	 * @return a random legal move.
+	 */
+	public static Move produceMove(Board board, SplittableRandom random){
+		int moveIndex = random.nextInt(board.getNumberOfLegalMoves());
+		int row = 1;
+		while (moveIndex >= board.getNumberOfLegalMoves(row)){
+			moveIndex -= board.getNumberOfLegalMoves(row);
+			row++;
+		}
+		return produceMove(board.getShape(), row, board.getRowBits(row), moveIndex);
+	}
+
+	/**
+	 * Draws a random legal move from the board with the given rows, see produceMove(Board,
+	 * SplittableRandom). The legal moves of every row are counted on the way, as there is no board to keep
+	 * them.
+	 * @param shape the shape of the board.
+	 * @param rows the bitmask of every row of the board, a set bit is an unmarked stick.
+	 * @param random the random generator to draw from.
+	 * @return a random legal move.
+	 */
+	public static Move produceMove(BoardShape shape, long[] rows, SplittableRandom random){
+		int numRows = shape.getNumberOfRows();
+		int numLegalMoves = 0;
+		for (int k = 0; k < numRows; k++){
+			numLegalMoves += Board.countLegalMoves(rows[k]);
+		}
+		int moveIndex = random.nextInt(numLegalMoves);
+		int row = 1;
+		int rowLegalMoves = Board.countLegalMoves(rows[0]);
+		while (moveIndex >= rowLegalMoves){
+			moveIndex -= rowLegalMoves;
+			rowLegalMoves = Board.countLegalMoves(rows[row]);
+			row++;
+		}
+		return produceMove(shape, row, rows[row-1], moveIndex);
+	}
+
+	/**
+	 * Walks the index of a move within its row down to the move.
+	 * @param shape the shape of the board.
+	 * @param row the row of the move.
+	 * @param rowBits the bitmask of the row.
+	 * @param moveIndex the index of the move among the legal moves of the row.
+	 * @return the move of the given index.
+	 */
+	private static Move produceMove(BoardShape shape, int row, long rowBits, int moveIndex){
+		// Finds the segment of the move, a segment of n sticks holds n(n+1)/2 moves.
+		int start = Long.numberOfTrailingZeros(rowBits);
+		int length = Long.numberOfTrailingZeros(~(rowBits >>> start));
+		while (moveIndex >= length*(length+1)/2){
+			moveIndex -= length*(length+1)/2;
+			rowBits &= rowBits + (1L << start); // clears the lowest segment
+			start = Long.numberOfTrailingZeros(rowBits);
+			length = Long.numberOfTrailingZeros(~(rowBits >>> start));
+		}
+
+		// Finds the leftmost stick of the move, a move starting at offset i of the segment ends in one of
+		// its length-i rightmost sticks.
+		int offset = 0;
+		while (moveIndex >= length - offset){
+			moveIndex -= length - offset;
+			offset++;
+		}
+		int leftBound = start + offset + 1;
+		return Move.of(shape, row, leftBound, leftBound + moveIndex);
+	}
+}
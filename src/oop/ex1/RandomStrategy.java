@@ -0,0 +1,28 @@
+package oop.ex1;
+
+import java.util.SplittableRandom;
+
+/**
+ * The strategy of the Random player: a uniformly random legal move. It has no state, the random generator
+ * being the player's, so a single instance serves every Random player.
+ */
+public final class RandomStrategy implements Strategy {
+
+	/** The name of the Random player type. */
+	public static final String NAME = "Random";
+	/** The instance shared by all the Random players. */
+	public static final RandomStrategy INSTANCE = new RandomStrategy();
+
+	private RandomStrategy(){
+	}
+
+	@Override
+	public Move produceMove(Board board, SplittableRandom random){
+		return RandomMoveSampler.produceMove(board, random);
+	}
+
+	@Override
+	public String getName(){
+		return NAME;
+	}
+}
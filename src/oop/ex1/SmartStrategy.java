@@ -0,0 +1,48 @@
+package oop.ex1;
+
+import java.util.SplittableRandom;
+
+/**
+ * The strategy of the Smart player: the best move found by a NimSolver, or a random move while the board is
+ * too large to be solved. The solver keeps the board it is working on, so every Smart player has a strategy
+ * of its own.
+ */
+public final class SmartStrategy implements Strategy {
+
+	/** The name of the Smart player type. */
+	public static final String NAME = "Smart";
+
+	private final NimSolver solver = new NimSolver();
+
+	@Override
+	public Move produceMove(Board board, SplittableRandom random){
+		Move smartMove = solver.produceMove(board);
+		if (smartMove != null){
+			return smartMove;
+		}
+		// the board is too large to be solved yet, plays dumb until enough sticks are marked.
+		return RandomMoveSampler.produceMove(board, random);
+	}
+
+	/**
+	 * @return the solver producing the moves, for playing on the rows of a board (see BatchedSelfPlay).
+	 */
+	NimSolver getSolver(){
+		return solver;
+	}
+
+	@Override
+	public String getName(){
+		return NAME;
+	}
+
+	@Override
+	public boolean playsPerfectly(Board board){
+		return NimSolver.canSolve(board);
+	}
+
+	@Override
+	public boolean isDeterministic(Board board){
+		return NimSolver.canSolve(board);
+	}
+}
@@ -0,0 +1,68 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+
+/**
+ * A strategy of a player: the way it chooses its move on a board. Every player type is a strategy, created
+ * by the StrategyRegistry from its id or name, so a new player type is added by registering its strategy
+ * instead of editing Player. A strategy holding no state of its own is a single instance shared by all the
+ * players, on any number of threads; the others are created once per player, and closed with it.
+ */
+public interface Strategy extends AutoCloseable {
+
+	/**
+	 * Creates the strategy of a player.
+	 */
+	interface Factory {
+
+		/**
+		 * @param shape the shape of the boards the player plays on.
+		 * @param scanner the scanner the player reads its input from, used by human players only.
+		 * @return the strategy of a new player, or the shared instance of a stateless strategy.
+		 * @throws IOException if the strategy needs a file that can not be read.
+		 */
+		Strategy create(BoardShape shape, Scanner scanner) throws IOException;
+	}
+
+	/**
+	 * Chooses a move on the given board.
+	 * @param board the board to play on, with at least one unmarked stick.
+	 * @param random the random generator of the player, for the strategies that draw random moves.
+	 * @return the move, or null if the player forfeits the round.
+	 */
+	Move produceMove(Board board, SplittableRandom random);
+
+	/**
+	 * @return the name of the strategy, as shown to the users.
+	 */
+	String getName();
+
+	/**
+	 * Tells whether the strategy never misses a win from the position on the given board.
+	 * @param board the board the strategy is to play on.
+	 * @return true if the strategy plays the position perfectly, false if it does not or is not known to.
+	 */
+	default boolean playsPerfectly(Board board){
+		return false;
+	}
+
+	/**
+	 * Tells whether the strategy always produces the same move on the position on the given board, which
+	 * makes the move worth caching (see CachingStrategy).
+	 * @param board the board the strategy is to play on.
+	 * @return true if the move depends on the position only, false if it may depend on anything else.
+	 */
+	default boolean isDeterministic(Board board){
+		return false;
+	}
+
+	/**
+	 * Releases the resources of the strategy, like the threads it searches on, when its player is done
+	 * playing. The strategies holding none (and the shared ones) do nothing.
+	 */
+	@Override
+	default void close(){
+	}
+}
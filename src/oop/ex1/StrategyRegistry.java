@@ -0,0 +1,178 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The StrategyRegistry class holds the strategies of all the player types, by id and by name. The types of
+ * the exercise (Random, Heuristic, Smart, Human, Tablebase and MCTS, with the ids of the constants of
+ * Player) are registered when the class is loaded; more can be registered at any time, and are then accepted
+ * everywhere a player type is, such as the arguments of Competition.main. Names are matched regardless of
+ * case.
+ * The strategies of a type can also be wrapped in a MoveCache shared by all the players of the type, see
+ * setMoveCache.
+ */
+public final class StrategyRegistry {
+
+	/**
+	 * A registered player type.
+	 */
+	private static final class Entry {
+		final int id;
+		final String name;
+		final Strategy.Factory factory;
+
+		Entry(int id, String name, Strategy.Factory factory){
+			this.id = id;
+			this.name = name;
+			this.factory = factory;
+		}
+	}
+
+	private static final Map<Integer, Entry> byId = new ConcurrentHashMap<>();
+	private static final Map<String, Entry> byName = new ConcurrentHashMap<>();
+	private static final Map<Integer, MoveCache> moveCaches = new ConcurrentHashMap<>();
+
+	static {
+		register(Player.RANDOM, RandomStrategy.NAME, (shape, scanner) -> RandomStrategy.INSTANCE);
+		register(Player.HEURISTIC, HeuristicStrategy.NAME, (shape, scanner) -> new HeuristicStrategy(shape));
+		register(Player.SMART, SmartStrategy.NAME, (shape, scanner) -> new SmartStrategy());
+		register(Player.HUMAN, HumanStrategy.NAME, (shape, scanner) -> new HumanStrategy(scanner));
+		register(Player.TABLEBASE, TablebaseStrategy.NAME,
+				(shape, scanner) -> new TablebaseStrategy(Tablebase.getShared()));
+		register(Player.MCTS, MctsStrategy.NAME, (shape, scanner) -> MctsStrategy.withDefaultBudget(shape));
+	}
+
+	private StrategyRegistry(){
+	}
+
+	/**
+	 * Registers a player type.
+	 * @param id the id of the type, positive.
+	 * @param name the name of the type, as returned by the getName of its strategies.
+	 * @param factory creates the strategy of every player of the type.
+	 * @throws IllegalArgumentException if the id is not positive, or the id or name is already registered.
+	 */
+	public static synchronized void register(int id, String name, Strategy.Factory factory){
+		if (id < 1){
+			throw new IllegalArgumentException("A player type id must be positive, got " + id + ".");
+		}
+		String key = name.toLowerCase(Locale.ROOT);
+		if (byId.containsKey(id) || byName.containsKey(key)){
+			throw new IllegalArgumentException("The player type " + id + " (" + name +
+					") is already registered.");
+		}
+		Entry entry = new Entry(id, name, factory);
+		byId.put(id, entry);
+		byName.put(key, entry);
+	}
+
+	/**
+	 * @return true if a player type of the given id is registered.
+	 */
+	public static boolean isRegistered(int id){
+		return byId.containsKey(id);
+	}
+
+	/**
+	 * Finds the id of a player type given by its id or by its name, like "3" or "smart".
+	 * @param type the id or the name of the type.
+	 * @return the id of the type.
+	 * @throws IllegalArgumentException if no such type is registered.
+	 */
+	public static int resolve(String type){
+		Entry entry = byName.get(type.trim().toLowerCase(Locale.ROOT));
+		if (entry != null){
+			return entry.id;
+		}
+		try {
+			int id = Integer.parseInt(type.trim());
+			if (isRegistered(id)){
+				return id;
+			}
+		} catch (NumberFormatException e){
+			// neither a name nor an id.
+		}
+		throw new IllegalArgumentException("Unknown player type: " + type + ".");
+	}
+
+	/**
+	 * @return the ids of the registered player types, in increasing order.
+	 */
+	public static int[] getTypes(){
+		return new TreeMap<>(byId).keySet().stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * @param id the id of a registered player type.
+	 * @return the name of the type.
+	 * @throws IllegalArgumentException if no such type is registered.
+	 */
+	public static String getName(int id){
+		return getEntry(id).name;
+	}
+
+	/**
+	 * @return the registered player types in the order of their ids, like "1 (Random), 2 (Heuristic)", for
+	 * the messages listing the types a user can choose from.
+	 */
+	public static String describeTypes(){
+		StringJoiner types = new StringJoiner(", ");
+		for (Entry entry : new TreeMap<>(byId).values()){
+			types.add(entry.id + " (" + entry.name + ")");
+		}
+		return types.toString();
+	}
+
+	/**
+	 * Creates the strategy of a new player of the given type.
+	 * @param id the id of a registered player type.
+	 * @param shape the shape of the boards the player plays on.
+	 * @param scanner the scanner a human player reads its input from.
+	 * @return the strategy.
+	 * @throws IllegalArgumentException if no such type is registered.
+	 * @throws IOException if the strategy needs a file that can not be read.
+	 */
+	public static Strategy create(int id, BoardShape shape, Scanner scanner) throws IOException {
+		Strategy strategy = getEntry(id).factory.create(shape, scanner);
+		MoveCache cache = moveCaches.get(id);
+		return cache == null ? strategy : new CachingStrategy(strategy, cache);
+	}
+
+	/**
+	 * Wraps the strategies of every player of the given type created from now on in the given cache (see
+	 * CachingStrategy), which is shared by all of them, on any number of threads.
+	 * @param id the id of a registered player type.
+	 * @param cache the cache of the moves of the type, or null to stop caching them.
+	 * @throws IllegalArgumentException if no such type is registered.
+	 */
+	public static void setMoveCache(int id, MoveCache cache){
+		getEntry(id);
+		if (cache == null){
+			moveCaches.remove(id);
+		} else {
+			moveCaches.put(id, cache);
+		}
+	}
+
+	/**
+	 * @param id the id of a player type.
+	 * @return the cache the strategies of the type are wrapped in, or null if they are not cached.
+	 */
+	public static MoveCache getMoveCache(int id){
+		return moveCaches.get(id);
+	}
+
+	private static Entry getEntry(int id){
+		Entry entry = byId.get(id);
+		if (entry == null){
+			throw new IllegalArgumentException("Unknown player type: " + id + ".");
+		}
+		return entry;
+	}
+}
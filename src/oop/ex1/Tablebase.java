@@ -0,0 +1,182 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Tablebase class answers positions from a precomputed file holding the best move of every position of a
+ * board shape, written by TablebaseGenerator. A position is indexed by the bitmasks of the rows of the board
+ * laid one after the other, first row in the lowest bits, so the index of a board is found with a few
+ * shifts, and the move is read from a read-only memory mapping of the file. A tablebase never changes once
+ * opened, so a single shared instance serves all the players of all the threads, and players start without
+ * computing anything.
+ *
+ * The file starts with a header: the magic number, the format version, the number of rows (2 bytes) and the
+ * length of every row (1 byte each), padded to an even size. It is followed by an entry of 2 bytes for every
+ * index: 0 for the empty board, otherwise the index of the leftmost stick of the move among all the sticks
+ * of the board plus one (upper 10 bits) and the number of sticks the move marks (lower 6 bits).
+ */
+public class Tablebase {
+
+	/** The first four bytes of every tablebase file, "NIMT". */
+	static final int MAGIC = 0x4E494D54;
+	/** The version of the file format. */
+	static final byte VERSION = 1;
+	/** The largest number of sticks on a board a tablebase can be made for. */
+	public static final int MAX_STICKS = 28;
+	/** The path of the shared tablebase when none was given. */
+	public static final String DEFAULT_PATH = "nim.tablebase";
+	/** The number of bits holding the number of marked sticks in an entry. */
+	private static final int COUNT_LENGTH = 6;
+	/** The size of an entry in bytes. */
+	static final int ENTRY_SIZE = 2;
+
+	/* The tablebase shared by all the Tablebase players, opened on first use. */
+	private static Tablebase shared;
+
+	private final BoardShape shape;
+	private final int[] rowOffsets; // the index of the first stick of every row among all the sticks.
+	private final ByteBuffer entries;
+
+	/**
+	 * Opens a tablebase file, mapping it into memory.
+	 * @param path the path of the file.
+	 * @throws IOException if the file can not be read, or is not a tablebase file.
+	 */
+	public static Tablebase open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+			MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (file.remaining() < 7 || file.getInt() != MAGIC || file.get() != VERSION){
+				throw new IOException(path + " is not a tablebase file.");
+			}
+			int[] rowLengths = new int[file.getChar()];
+			for (int i = 0; i < rowLengths.length; i++){
+				rowLengths[i] = file.get() & 0xFF;
+			}
+			BoardShape shape = new BoardShape(rowLengths);
+			file.position(headerSize(shape));
+			if (file.remaining() != entriesSize(shape)){
+				throw new IOException(path + " is truncated.");
+			}
+			return new Tablebase(shape, file.slice());
+		}
+	}
+
+	/**
+	 * @return the tablebase shared by all the Tablebase players, opening the default path if none was set.
+	 * @throws IOException if the default tablebase can not be opened.
+	 */
+	public static synchronized Tablebase getShared() throws IOException {
+		if (shared == null){
+			shared = open(Paths.get(System.getProperty("nim.tablebase", DEFAULT_PATH)));
+		}
+		return shared;
+	}
+
+	/**
+	 * Sets the tablebase shared by all the Tablebase players created from now on.
+	 * @param tablebase the tablebase to share.
+	 */
+	public static synchronized void setShared(Tablebase tablebase){
+		shared = tablebase;
+	}
+
+	private Tablebase(BoardShape shape, ByteBuffer entries){
+		this.shape = shape;
+		this.entries = entries;
+		rowOffsets = rowOffsets(shape);
+	}
+
+	/**
+	 * @return the shape of the boards the tablebase holds.
+	 */
+	public BoardShape getShape(){
+		return shape;
+	}
+
+	/**
+	 * Looks up the best move on the given board.
+	 * @param board a board with at least one unmarked stick.
+	 * @return the best move, or null if the board is not of the shape of the tablebase.
+	 */
+	public Move lookup(Board board){
+		if (!shape.equals(board.getShape())){
+			return null;
+		}
+		int index = 0;
+		for (int row = 1; row <= rowOffsets.length; row++){
+			index |= (int) board.getRowBits(row) << rowOffsets[row-1];
+		}
+		return lookup(index);
+	}
+
+	/**
+	 * Looks up the best move on the board with the given rows, which must be of the shape of the tablebase.
+	 * @param rows the bitmask of every row of the board, a set bit is an unmarked stick.
+	 * @return the best move, or null if no stick is unmarked.
+	 */
+	public Move lookup(long[] rows){
+		int index = 0;
+		for (int k = 0; k < rowOffsets.length; k++){
+			index |= (int) rows[k] << rowOffsets[k];
+		}
+		return lookup(index);
+	}
+
+	/**
+	 * Decodes the entry of the position of the given index.
+	 */
+	private Move lookup(int index){
+		int entry = entries.getChar(index * ENTRY_SIZE);
+		if (entry == 0){
+			return null;
+		}
+		int stickIndex = (entry >>> COUNT_LENGTH) - 1;
+		int row = rowOffsets.length;
+		while (rowOffsets[row-1] > stickIndex){
+			row--;
+		}
+		int leftBound = stickIndex - rowOffsets[row-1] + 1;
+		return Move.of(shape, row, leftBound, leftBound + (entry & ((1 << COUNT_LENGTH) - 1)) - 1);
+	}
+
+	/**
+	 * Encodes a move as an entry of a tablebase of the given row offsets.
+	 */
+	static char encodeEntry(int[] rowOffsets, Move move){
+		int stickIndex = rowOffsets[move.getRow()-1] + move.getLeftBound() - 1;
+		int count = move.getRightBound() - move.getLeftBound() + 1;
+		return (char) (((stickIndex + 1) << COUNT_LENGTH) | count);
+	}
+
+	/**
+	 * @return the index of the first stick of every row of the shape among all its sticks.
+	 */
+	static int[] rowOffsets(BoardShape shape){
+		int[] offsets = new int[shape.getNumberOfRows()];
+		for (int row = 2; row <= offsets.length; row++){
+			offsets[row-1] = offsets[row-2] + shape.getRowLength(row-1);
+		}
+		return offsets;
+	}
+
+	/**
+	 * @return the size of the header of a tablebase file of the given shape.
+	 */
+	static int headerSize(BoardShape shape){
+		int size = 7 + shape.getNumberOfRows();
+		return size + size % 2;
+	}
+
+	/**
+	 * @return the size of the entries of a tablebase file of the given shape.
+	 */
+	static long entriesSize(BoardShape shape){
+		return (long) ENTRY_SIZE << shape.getNumberOfSticks();
+	}
+}
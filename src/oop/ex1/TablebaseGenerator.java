@@ -0,0 +1,70 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The TablebaseGenerator class writes a tablebase file: it enumerates every position of a board shape,
+ * solves it with a NimSolver (so positions with the same segment lengths are searched only once) and writes
+ * the best move of the position at its index. See Tablebase for the format of the file.
+ */
+public class TablebaseGenerator {
+
+	/**
+	 * Writes the tablebase of a board shape.
+	 * @param args the path of the file to write, optionally followed by the row lengths of the shape
+	 * (e.g. "9,7,5,3,1", the standard shape if not given).
+	 */
+	public static void main(String[] args) throws IOException {
+		BoardShape shape = args.length > 1 ? BoardShape.parse(args[1]) : BoardShape.STANDARD;
+		long start = System.nanoTime();
+		generate(Paths.get(args[0]), shape);
+		System.out.println("Wrote the tablebase of the " + shape + " board, " +
+				(1L << shape.getNumberOfSticks()) + " positions, in " +
+				(System.nanoTime() - start) / 1000000 + " ms.");
+	}
+
+	/**
+	 * Writes the tablebase of a board shape.
+	 * @param path the path of the file to write.
+	 * @param shape the shape of the board.
+	 * @throws IOException if the file can not be written.
+	 * @throws IllegalArgumentException if the board has more than Tablebase.MAX_STICKS sticks.
+	 */
+	public static void generate(Path path, BoardShape shape) throws IOException {
+		if (shape.getNumberOfSticks() > Tablebase.MAX_STICKS){
+			throw new IllegalArgumentException("Can not make a tablebase for more than " +
+					Tablebase.MAX_STICKS + " sticks.");
+		}
+		int numRows = shape.getNumberOfRows();
+		int[] rowOffsets = Tablebase.rowOffsets(shape);
+		int headerSize = Tablebase.headerSize(shape);
+		int numPositions = 1 << shape.getNumberOfSticks();
+		NimSolver solver = new NimSolver();
+		long[] rowBits = new long[numRows];
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+			MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+					headerSize + Tablebase.entriesSize(shape));
+			file.putInt(Tablebase.MAGIC).put(Tablebase.VERSION).putChar((char) numRows);
+			for (int row = 1; row <= numRows; row++){
+				file.put((byte) shape.getRowLength(row));
+			}
+			file.position(headerSize);
+			file.putChar((char) 0); // the empty board has no move.
+			for (int index = 1; index < numPositions; index++){
+				for (int row = 1; row <= numRows; row++){
+					rowBits[row-1] = (index >>> rowOffsets[row-1]) &
+							Board.sequenceMask(1, shape.getRowLength(row));
+				}
+				file.putChar(Tablebase.encodeEntry(rowOffsets, solver.produceMove(shape, rowBits)));
+			}
+			file.force();
+		}
+	}
+}
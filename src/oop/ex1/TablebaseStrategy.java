@@ -0,0 +1,62 @@
+package oop.ex1;
+
+import java.util.SplittableRandom;
+
+/**
+ * The strategy of the Tablebase player: the best move read from a tablebase, shared by all the players.
+ * Boards of other shapes are played like the Smart player, whose solver makes every Tablebase player have a
+ * strategy of its own.
+ */
+public final class TablebaseStrategy implements Strategy {
+
+	/** The name of the Tablebase player type. */
+	public static final String NAME = "Tablebase";
+
+	private final Tablebase tablebase;
+	private final SmartStrategy fallback = new SmartStrategy();
+
+	/**
+	 * @param tablebase the tablebase to read the moves from.
+	 */
+	public TablebaseStrategy(Tablebase tablebase){
+		this.tablebase = tablebase;
+	}
+
+	@Override
+	public Move produceMove(Board board, SplittableRandom random){
+		Move tablebaseMove = tablebase.lookup(board);
+		if (tablebaseMove != null){
+			return tablebaseMove;
+		}
+		return fallback.produceMove(board, random);
+	}
+
+	/**
+	 * @return the tablebase the moves are read from.
+	 */
+	Tablebase getTablebase(){
+		return tablebase;
+	}
+
+	/**
+	 * @return the Smart strategy playing the boards the tablebase has no move for.
+	 */
+	SmartStrategy getFallback(){
+		return fallback;
+	}
+
+	@Override
+	public String getName(){
+		return NAME;
+	}
+
+	@Override
+	public boolean playsPerfectly(Board board){
+		return NimSolver.canSolve(board);
+	}
+
+	@Override
+	public boolean isDeterministic(Board board){
+		return NimSolver.canSolve(board);
+	}
+}
@@ -0,0 +1,221 @@
+package oop.ex1;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The Tournament class plays a round robin tournament between computer player types: every ordered pairing
+ * of the types, a type against itself included, plays a competition of the same number of rounds. All the
+ * competitions are submitted together to a fork-join pool, whose workers steal the rounds of one pairing
+ * when they are done with another, so a slow pairing (such as one of Smart players) does not leave threads
+ * idle. The result is a matrix of the win rates of the first player of every pairing, each with its 95%
+ * (Wilson score) confidence interval.
+ */
+public class Tournament {
+
+	private static final String THREADS_OPTION = "threads=";
+	private static final String PLAYERS_OPTION = "players=";
+	private static final String BOARD_OPTION = "board=";
+	private static final String SEED_OPTION = "seed=";
+	private static final String MCTS_OPTION = "mcts=";
+
+	/** The z value of a two sided 95% confidence interval. */
+	private static final double Z_95 = 1.959963984540054;
+
+	private final int[] playerTypes;
+	private final String[] typeNames;
+	private final BoardShape shape;
+	private final int[][] firstPlayerWins;
+	private int roundsPerPairing;
+
+	/**
+	 * Plays a tournament and prints its win rate matrix.
+	 * @param args the number of rounds of every pairing, optionally followed by:
+	 * "players=T1,T2,..." the computer player types (ids or names) taking part, by default every registered
+	 *     computer player type whose strategy can be created (Tablebase if its tablebase can be opened).
+	 * "threads=N" the number of worker threads, by default the number of processors.
+	 * "board=L1,L2,..." the shape of the board.
+	 * "seed=S" which seeds every pairing like Competition does, making the tournament reproducible.
+	 * "mcts=N" the iterations of every move of the MCTS player, like in Competition.
+	 */
+	public static void main(String[] args){
+		int numRounds = Integer.parseInt(args[0]);
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		int[] playerTypes = null;
+		BoardShape shape = BoardShape.STANDARD;
+		Long seed = null;
+		int mctsIterations = MctsStrategy.DEFAULT_ITERATIONS;
+		for (int i = 1; i < args.length; i++){
+			if (args[i].startsWith(THREADS_OPTION)){
+				numThreads = Integer.parseInt(args[i].substring(THREADS_OPTION.length()));
+			} else if (args[i].startsWith(PLAYERS_OPTION)){
+				String[] types = args[i].substring(PLAYERS_OPTION.length()).split(",");
+				playerTypes = new int[types.length];
+				for (int j = 0; j < types.length; j++){
+					playerTypes[j] = StrategyRegistry.resolve(types[j]);
+				}
+			} else if (args[i].startsWith(BOARD_OPTION)){
+				shape = BoardShape.parse(args[i].substring(BOARD_OPTION.length()));
+			} else if (args[i].startsWith(SEED_OPTION)){
+				seed = Long.parseLong(args[i].substring(SEED_OPTION.length()));
+			} else if (args[i].startsWith(MCTS_OPTION)){
+				mctsIterations = Integer.parseInt(args[i].substring(MCTS_OPTION.length()));
+			}
+		}
+
+		Tournament tournament = null;
+		try {
+			MctsStrategy.setDefaultBudget(mctsIterations, 0, 1);
+			if (playerTypes == null){
+				playerTypes = defaultPlayerTypes(shape);
+			}
+			tournament = new Tournament(playerTypes, shape);
+		} catch (IllegalArgumentException e){
+			System.out.println(e.getMessage() + " Terminating.");
+			System.exit(-1);
+		}
+		System.out.println("Starting a round robin tournament of " + numRounds + " rounds per pairing on " +
+				numThreads + " threads.");
+		ForkJoinPool pool = new ForkJoinPool(numThreads);
+		long start = System.nanoTime();
+		tournament.play(numRounds, pool, seed);
+		pool.shutdown();
+		System.out.print(tournament.formatResults());
+		System.out.println(String.format("Played in %.2f seconds.", (System.nanoTime() - start) / 1e9));
+	}
+
+	/**
+	 * @param playerTypes the computer player types taking part in the tournament.
+	 * @param shape the shape of the boards the rounds are played on.
+	 * @throws IllegalArgumentException if one of the types is not a computer player type.
+	 */
+	public Tournament(int[] playerTypes, BoardShape shape){
+		this.playerTypes = playerTypes.clone();
+		this.shape = shape;
+		typeNames = new String[playerTypes.length];
+		for (int i = 0; i < playerTypes.length; i++){
+			int type = playerTypes[i];
+			if (type == Player.HUMAN || !StrategyRegistry.isRegistered(type)){
+				throw new IllegalArgumentException("Received a type that is not a computer player: " + type +
+						".");
+			}
+			typeNames[i] = StrategyRegistry.getName(type);
+		}
+		firstPlayerWins = new int[playerTypes.length][playerTypes.length];
+	}
+
+	/**
+	 * Plays every pairing for the given number of rounds, all of them at once on the given pool.
+	 * @param numRounds the number of rounds of every pairing.
+	 * @param pool the pool whose threads play the rounds.
+	 * @param seed the seed of every pairing (see Competition.setSeed), or null for unseeded rounds.
+	 * @throws IllegalArgumentException if the number of rounds is not positive.
+	 */
+	public void play(int numRounds, ForkJoinPool pool, Long seed){
+		if (numRounds < 1){
+			throw new IllegalArgumentException("A tournament needs at least one round per pairing.");
+		}
+		List<ForkJoinTask<Competition>> pairings = new ArrayList<>();
+		for (int first : playerTypes){
+			for (int second : playerTypes){
+				pairings.add(pool.submit(new CompetitionTask(first, second, 0, numRounds, shape, false,
+						seed, false)));
+			}
+		}
+		int pairing = 0;
+		for (int i = 0; i < playerTypes.length; i++){
+			for (int j = 0; j < playerTypes.length; j++){
+				firstPlayerWins[i][j] = pairings.get(pairing++).join().getPlayerScore(1);
+			}
+		}
+		roundsPerPairing = numRounds;
+	}
+
+	/**
+	 * Returns the number of rounds the first player won in a pairing of the last tournament played.
+	 * @param first the index of the type of the first player, in the types given to the constructor.
+	 * @param second the index of the type of the second player.
+	 */
+	public int getFirstPlayerWins(int first, int second){
+		return firstPlayerWins[first][second];
+	}
+
+	/**
+	 * Computes the Wilson score interval of a win rate, which unlike the normal approximation stays within
+	 * [0,1] and is reliable for win rates near 0 or 1, common between strategies of different strength.
+	 * @param wins the number of rounds won.
+	 * @param rounds the number of rounds played, positive.
+	 * @return the lower and upper bounds of the 95% confidence interval of the win rate.
+	 */
+	public static double[] wilsonInterval(int wins, int rounds){
+		double rate = (double) wins / rounds;
+		double zSquared = Z_95 * Z_95;
+		double denominator = 1 + zSquared / rounds;
+		double center = (rate + zSquared / (2.0 * rounds)) / denominator;
+		double halfWidth = Z_95 *
+				Math.sqrt(rate * (1 - rate) / rounds + zSquared / (4.0 * rounds * rounds)) / denominator;
+		return new double[] {Math.max(0, center - halfWidth), Math.min(1, center + halfWidth)};
+	}
+
+	/**
+	 * Formats the results of the last tournament played: the win rate matrix of the first players, a row per
+	 * first player and a column per second player, followed by the overall win rate of every type.
+	 * @return the formatted results.
+	 */
+	public String formatResults(){
+		StringBuilder results = new StringBuilder();
+		results.append("Win rate of the first player (row) against the second player (column), with its ")
+				.append("95% confidence interval:\n");
+		results.append(String.format("%-10s", ""));
+		for (String name : typeNames){
+			results.append(String.format("%24s", name));
+		}
+		results.append('\n');
+		for (int i = 0; i < playerTypes.length; i++){
+			results.append(String.format("%-10s", typeNames[i]));
+			for (int j = 0; j < playerTypes.length; j++){
+				int wins = firstPlayerWins[i][j];
+				double[] interval = wilsonInterval(wins, roundsPerPairing);
+				results.append(String.format("%24s", String.format("%.3f [%.3f,%.3f]",
+						(double) wins / roundsPerPairing, interval[0], interval[1])));
+			}
+			results.append('\n');
+		}
+
+		results.append("Overall win rate of every player, in both seats:\n");
+		int roundsPerType = 2 * playerTypes.length * roundsPerPairing;
+		for (int i = 0; i < playerTypes.length; i++){
+			int wins = 0;
+			for (int j = 0; j < playerTypes.length; j++){
+				wins += firstPlayerWins[i][j] + roundsPerPairing - firstPlayerWins[j][i];
+			}
+			double[] interval = wilsonInterval(wins, roundsPerType);
+			results.append(String.format("%-10s%.3f [%.3f,%.3f]%n", typeNames[i],
+					(double) wins / roundsPerType, interval[0], interval[1]));
+		}
+		return results.toString();
+	}
+
+	/**
+	 * @param shape the shape of the boards the rounds are played on.
+	 * @return the registered computer player types whose strategy can be created, leaving out those needing
+	 * a file that can not be read, like the Tablebase player without its tablebase.
+	 */
+	private static int[] defaultPlayerTypes(BoardShape shape){
+		List<Integer> types = new ArrayList<>();
+		for (int type : StrategyRegistry.getTypes()){
+			if (type == Player.HUMAN){
+				continue;
+			}
+			try (Strategy strategy = StrategyRegistry.create(type, shape, null)){
+				types.add(type);
+			} catch (IOException e){
+				// leaves the type out.
+			}
+		}
+		return types.stream().mapToInt(Integer::intValue).toArray();
+	}
+}
@@ -0,0 +1,105 @@
+package oop.ex1;
+
+/**
+ * The TranspositionTable class keeps the results of the positions a NimSolver searched, by the key of the
+ * position. It holds up to a given number of results in open addressing arrays of primitives, so a lookup
+ * boxes nothing and the table never grows: a key is looked for in a window of PROBES slots from the slot
+ * its hash chooses, and when the window is full the newest result takes the first slot of the window. A
+ * result lost this way is only searched again. It is safe to share between threads: it is split into
+ * stripes, each behind its own lock, chosen by the high bits of the hash.
+ */
+final class TranspositionTable {
+
+	/** The number of results a table holds when no capacity is given. */
+	static final int DEFAULT_CAPACITY = 1 << 20;
+	/** Returned by get for a key the table holds no result for. */
+	static final int NOT_FOUND = -1;
+	/** The number of slots a key is looked for in. */
+	private static final int PROBES = 8;
+	/** Multiplies the keys into hashes (the golden ratio, see Knuth's multiplicative hashing). */
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * A stripe of the table. A slot is empty while its key is 0, which no position key is.
+	 */
+	private static final class Stripe {
+		final long[] keys;
+		final int[] results;
+
+		Stripe(int capacity){
+			keys = new long[capacity];
+			results = new int[capacity];
+		}
+	}
+
+	private final Stripe[] stripes;
+	private final int stripeShift;
+	private final int slotMask;
+
+	/**
+	 * @param capacity the number of results the table holds, rounded up to a power of two of at least
+	 * PROBES.
+	 */
+	TranspositionTable(int capacity){
+		int numSlots = Math.max(PROBES, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+		// A few stripes per processor, but none smaller than a few windows.
+		int numStripes = Integer.highestOneBit(Math.max(1,
+				Math.min(4 * Runtime.getRuntime().availableProcessors(), numSlots / (16 * PROBES))));
+		stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(numStripes);
+		slotMask = numSlots / numStripes - 1;
+		stripes = new Stripe[numStripes];
+		for (int i = 0; i < numStripes; i++){
+			stripes[i] = new Stripe(numSlots / numStripes);
+		}
+	}
+
+	/**
+	 * @param key the key of a position, not 0.
+	 * @return the result kept for the position, or NOT_FOUND if there is none.
+	 */
+	int get(long key){
+		long hash = key * HASH_MULTIPLIER;
+		Stripe stripe = stripeOf(hash);
+		int home = (int) (hash >>> Integer.SIZE); // the high bits depend on all the bits of the key.
+		synchronized (stripe){
+			for (int probe = 0; probe < PROBES; probe++){
+				int slot = (home + probe) & slotMask;
+				if (stripe.keys[slot] == key){
+					return stripe.results[slot];
+				}
+				if (stripe.keys[slot] == 0){
+					return NOT_FOUND;
+				}
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Keeps the result of the given position, in place of the result of another position if its window is
+	 * full.
+	 * @param key the key of the position, not 0.
+	 * @param result the result, not negative.
+	 */
+	void put(long key, int result){
+		long hash = key * HASH_MULTIPLIER;
+		Stripe stripe = stripeOf(hash);
+		int home = (int) (hash >>> Integer.SIZE);
+		synchronized (stripe){
+			int target = home & slotMask;
+			for (int probe = 0; probe < PROBES; probe++){
+				int slot = (home + probe) & slotMask;
+				if (stripe.keys[slot] == key || stripe.keys[slot] == 0){
+					target = slot;
+					break;
+				}
+			}
+			stripe.keys[target] = key;
+			stripe.results[target] = result;
+		}
+	}
+
+	private Stripe stripeOf(long hash){
+		return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+	}
+}
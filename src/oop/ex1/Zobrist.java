@@ -0,0 +1,51 @@
+package oop.ex1;
+
+/**
+ * The random keys the hashes of a board are made of. A stick has a key for its row and place, and the
+ * Zobrist hash of a board is the XOR of the keys of its marked sticks, updated by a move with a single XOR.
+ * A segment has a key for its length, and the canonical hash of a board is the sum of the keys of its
+ * segments, which depends on the multiset of the segment lengths only. The keys are derived from their
+ * indices by a fixed mixing function instead of being drawn, so they are the same in every run, for every
+ * board and shape.
+ */
+final class Zobrist {
+
+	private static final long STICK_SALT = 0x5DEECE66DL;
+	private static final long SEGMENT_SALT = 0x2545F4914F6CDD1DL;
+
+	/** The keys of the segments of every length, 0 for the empty segment. */
+	private static final long[] segmentKeys = new long[BoardShape.MAX_ROW_LENGTH + 1];
+
+	static {
+		for (int length = 1; length <= BoardShape.MAX_ROW_LENGTH; length++){
+			segmentKeys[length] = mix(SEGMENT_SALT + length);
+		}
+	}
+
+	private Zobrist(){
+	}
+
+	/**
+	 * @return the key of the given stick of the given row, counting both from 1.
+	 */
+	static long stickKey(int row, int stick){
+		return mix(STICK_SALT + (long) row * (BoardShape.MAX_ROW_LENGTH + 1) + stick);
+	}
+
+	/**
+	 * @return the key of a segment of the given length, 0 for a length of 0.
+	 */
+	static long segmentKey(int length){
+		return segmentKeys[length];
+	}
+
+	/**
+	 * The finalizer of SplitMix64, which spreads consecutive inputs over all 64 bits.
+	 */
+	private static long mix(long z){
+		z *= 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,69 @@
+package oop.ex1;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Checks that the batched engine plays the same rounds as a seeded Competition between the same players,
+ * whatever the batch size.
+ */
+public class BatchedSelfPlayTest {
+
+	private static final int NUM_ROUNDS = 300;
+	private static final long SEED = 2017;
+	private static final int[] BATCH_SIZES = {1, 7, 64, BatchedSelfPlay.DEFAULT_BATCH_SIZE};
+	private static final BoardShape SMALL_SHAPE = new BoardShape(4, 3, 2);
+
+	/**
+	 * @return the scores of the first and second player after the given rounds of a seeded competition.
+	 */
+	private static int[] competitionScores(int p1Type, int p2Type, BoardShape shape){
+		try (Player player1 = new Player(p1Type, 1, null, shape);
+				Player player2 = new Player(p2Type, 2, null, shape)){
+			Competition competition = new Competition(player1, player2, false, shape);
+			competition.setSeed(SEED);
+			competition.playRounds(NUM_ROUNDS);
+			return new int[] {competition.getPlayerScore(1), competition.getPlayerScore(2)};
+		}
+	}
+
+	private static void checkAllBatchSizes(int p1Type, int p2Type, BoardShape shape){
+		int[] expected = competitionScores(p1Type, p2Type, shape);
+		for (int batchSize : BATCH_SIZES){
+			try (BatchedSelfPlay engine = new BatchedSelfPlay(p1Type, p2Type, shape, batchSize, SEED)){
+				engine.play(NUM_ROUNDS);
+				String pairing = p1Type + " against " + p2Type + " on " + shape + " in batches of " +
+						batchSize;
+				assertEquals(pairing, expected[0], engine.getPlayerScore(1));
+				assertEquals(pairing, expected[1], engine.getPlayerScore(2));
+			}
+		}
+	}
+
+	@Test
+	public void playsTheRoundsOfASeededCompetition(){
+		int[][] pairings = {{Player.RANDOM, Player.RANDOM}, {Player.RANDOM, Player.HEURISTIC},
+				{Player.HEURISTIC, Player.SMART}, {Player.SMART, Player.RANDOM}};
+		for (BoardShape shape : new BoardShape[] {BoardShape.STANDARD, SMALL_SHAPE}){
+			for (int[] pairing : pairings){
+				checkAllBatchSizes(pairing[0], pairing[1], shape);
+			}
+		}
+	}
+
+	@Test
+	public void playsTheStrategiesWithoutALoopOfTheirOwnOnBoards(){
+		MctsStrategy.setDefaultBudget(100, 0, 1);
+		try {
+			checkAllBatchSizes(Player.MCTS, Player.RANDOM, SMALL_SHAPE);
+		} finally {
+			MctsStrategy.setDefaultBudget(MctsStrategy.DEFAULT_ITERATIONS, 0, 1);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsHumanPlayers(){
+		new BatchedSelfPlay(Player.HUMAN, Player.RANDOM, BoardShape.STANDARD, 8, SEED);
+	}
+}
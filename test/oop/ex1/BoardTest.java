@@ -0,0 +1,122 @@
+package oop.ex1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Checks that the state a board keeps up to date on every move (its segments, nim-sum, legal move counts
+ * and hashes) always equals the state recomputed from its sticks, after random sequences of marking,
+ * unmarking and resetting on boards of several shapes.
+ */
+public class BoardTest {
+
+	private static final long SEED = 2017;
+	private static final int NUM_STEPS = 20000;
+	private static final BoardShape[] SHAPES = {BoardShape.STANDARD, new BoardShape(1),
+			new BoardShape(4, 3, 2), new BoardShape(12, 1, 7, 7),
+			new BoardShape(BoardShape.MAX_ROW_LENGTH, 33, 5)};
+
+	@Test
+	public void keepsItsStateUpToDate(){
+		SplittableRandom random = new SplittableRandom(SEED);
+		for (BoardShape shape : SHAPES){
+			Board board = new Board(shape);
+			checkState(board);
+			for (int step = 0; step < NUM_STEPS; step++){
+				int choice = random.nextInt(100);
+				if (choice == 0){
+					board.reset();
+				} else {
+					int row = random.nextInt(1, shape.getNumberOfRows() + 1);
+					int leftBound = random.nextInt(1, shape.getRowLength(row) + 1);
+					int rightBound = Math.min(shape.getRowLength(row), leftBound + random.nextInt(4));
+					Move move = Move.of(shape, row, leftBound, rightBound);
+					// the moves covering sticks of both states change nothing, which is checked too.
+					if (choice < 60){
+						board.markStickSequence(move);
+					} else {
+						board.unmarkStickSequence(move);
+					}
+				}
+				checkState(board);
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the state of the given board from its sticks, and checks that the board keeps the same.
+	 */
+	private static void checkState(Board board){
+		BoardShape shape = board.getShape();
+		int[] segmentCounts = new int[shape.getMaxRowLength() + 1];
+		int numberOfSegments = 0, nimSum = 0, numberOfLegalMoves = 0, unmarkedSticks = 0;
+		for (int row = 1; row <= shape.getNumberOfRows(); row++){
+			int rowNimSum = 0, rowLegalMoves = 0, segmentLength = 0;
+			for (int stick = 1; stick <= shape.getRowLength(row) + 1; stick++){
+				if (stick <= shape.getRowLength(row) && board.isStickUnmarked(row, stick)){
+					segmentLength++;
+					unmarkedSticks++;
+				} else if (segmentLength > 0){
+					segmentCounts[segmentLength]++;
+					numberOfSegments++;
+					rowNimSum ^= segmentLength;
+					rowLegalMoves += segmentLength * (segmentLength + 1) / 2;
+					segmentLength = 0;
+				}
+			}
+			assertEquals(rowNimSum, board.getRowNimSum(row));
+			assertEquals(rowLegalMoves, board.getNumberOfLegalMoves(row));
+			nimSum ^= rowNimSum;
+			numberOfLegalMoves += rowLegalMoves;
+		}
+		assertEquals(unmarkedSticks, board.getNumberOfUnmarkedSticks());
+		assertEquals(shape.getNumberOfSticks() - unmarkedSticks, board.getNumberOfMarkedSticks());
+		assertEquals(nimSum, board.getNimSum());
+		assertEquals(numberOfLegalMoves, board.getNumberOfLegalMoves());
+		assertEquals(numberOfSegments, board.getNumberOfSegments());
+		int longestSegment = 0;
+		for (int length = 1; length < segmentCounts.length; length++){
+			assertEquals(segmentCounts[length], board.getNumberOfSegmentsOfLength(length));
+			if (segmentCounts[length] > 0){
+				longestSegment = length;
+			}
+		}
+		assertEquals(longestSegment, board.getLongestSegmentLength());
+		checkHashes(board);
+	}
+
+	/**
+	 * Checks the hashes of the given board against those of the same position marked a stick at a time on a
+	 * new board, and of an equivalent position with a row per segment.
+	 */
+	private static void checkHashes(Board board){
+		BoardShape shape = board.getShape();
+		Board copy = new Board(shape);
+		for (int row = 1; row <= shape.getNumberOfRows(); row++){
+			for (int stick = 1; stick <= shape.getRowLength(row); stick++){
+				if (!board.isStickUnmarked(row, stick)){
+					copy.markStickSequence(Move.of(shape, row, stick, stick));
+				}
+			}
+		}
+		assertEquals(copy.getPositionHash(), board.getPositionHash());
+		assertEquals(copy.getCanonicalHash(), board.getCanonicalHash());
+		assertEquals(copy, board);
+		assertEquals(copy.hashCode(), board.hashCode());
+
+		int[] segments = board.getCanonicalForm();
+		Board equivalent;
+		if (segments.length == 0){
+			equivalent = new Board(new BoardShape(1));
+			equivalent.markStickSequence(Move.of(equivalent.getShape(), 1, 1, 1));
+		} else {
+			equivalent = new Board(new BoardShape(segments));
+		}
+		assertEquals(equivalent.getCanonicalHash(), board.getCanonicalHash());
+		assertTrue(board.isEquivalent(equivalent));
+	}
+}
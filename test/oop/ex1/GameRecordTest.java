@@ -0,0 +1,153 @@
+package oop.ex1;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Checks that a GameRecordReader reads back the rounds and moves a GameRecorder wrote, and rejects the files
+ * whose header is not that of a record file.
+ */
+public class GameRecordTest {
+
+	private static final long SEED = 2017;
+	/** Enough rounds for the records to fill the buffers of the recorder and the reader several times. */
+	private static final int NUM_ROUNDS = 5000;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Writes the given bytes into a new file, and opens it with a reader, which must fail.
+	 */
+	private void open(byte[] bytes) throws IOException {
+		Path path = folder.newFile().toPath();
+		Files.write(path, bytes);
+		new GameRecordReader(path).close();
+	}
+
+	/**
+	 * @return a header of the given magic number and version, claiming the given number of rows but holding
+	 * the lengths of only the given rows.
+	 */
+	private static byte[] header(int magic, byte version, int numRows, int... rowLengths){
+		ByteBuffer header = ByteBuffer.allocate(GameRecorder.HEADER_SIZE + rowLengths.length);
+		header.putInt(magic).put(version).putChar((char) numRows);
+		for (int length : rowLengths){
+			header.put((byte) length);
+		}
+		return header.array();
+	}
+
+	@Test
+	public void readsBackTheRecordsWritten() throws IOException {
+		Path path = folder.newFile().toPath();
+		BoardShape shape = new BoardShape(4, 50, 1);
+		Move[] moves = {Move.of(shape, 2, 1, 44), Move.of(shape, 1, 2, 3), Move.of(shape, 3, 1, 1)};
+		try (GameRecorder recorder = new GameRecorder(path, shape)){
+			for (int round = 0; round < NUM_ROUNDS; round++){
+				recorder.recordRoundStart();
+				for (int i = 0; i < moves.length; i++){
+					recorder.recordMove(i % 2 + 1, moves[i]);
+				}
+				recorder.recordRoundEnd(round % 2 + 1);
+			}
+		}
+		try (GameRecordReader reader = new GameRecordReader(path)){
+			assertEquals(shape, reader.getShape());
+			for (int round = 0; round < NUM_ROUNDS; round++){
+				assertEquals(GameRecordReader.ROUND_START, reader.next());
+				for (int i = 0; i < moves.length; i++){
+					assertEquals(GameRecordReader.MOVE, reader.next());
+					assertEquals(i % 2 + 1, reader.getPlayerId());
+					assertEquals(moves[i].getRow(), reader.getRow());
+					assertEquals(moves[i].getLeftBound(), reader.getLeftBound());
+					assertEquals(moves[i].getRightBound(), reader.getRightBound());
+				}
+				assertEquals(GameRecordReader.ROUND_END, reader.next());
+				assertEquals(round % 2 + 1, reader.getWinnerId());
+			}
+			assertEquals(GameRecordReader.END_OF_RECORDS, reader.next());
+		}
+	}
+
+	@Test
+	public void replaysARecordedCompetition() throws IOException {
+		Path path = folder.newFile().toPath();
+		int[] scores = new int[3];
+		try (Player player1 = new Player(Player.RANDOM, 1, null);
+				Player player2 = new Player(Player.HEURISTIC, 2, null)){
+			Competition competition = new Competition(player1, player2, false);
+			competition.setSeed(SEED);
+			competition.playMultipleRounds(NUM_ROUNDS, path);
+			scores[1] = competition.getPlayerScore(1);
+			scores[2] = competition.getPlayerScore(2);
+		}
+		int[] replayedScores = new int[3];
+		int rounds = 0;
+		try (GameRecordReader reader = new GameRecordReader(path)){
+			Board board = new Board(reader.getShape());
+			int record, lastPlayer = 0;
+			while ((record = reader.replay(board)) != GameRecordReader.END_OF_RECORDS){
+				if (record == GameRecordReader.ROUND_START){
+					lastPlayer = 0;
+				} else if (record == GameRecordReader.MOVE){
+					// the first player opens every round, and the players take turns.
+					assertEquals(lastPlayer == 1 ? 2 : 1, reader.getPlayerId());
+					lastPlayer = reader.getPlayerId();
+				} else {
+					// the player who marks the last stick loses.
+					assertEquals(0, board.getNumberOfUnmarkedSticks());
+					assertEquals(3 - lastPlayer, reader.getWinnerId());
+					replayedScores[reader.getWinnerId()]++;
+					rounds++;
+				}
+			}
+		}
+		assertEquals(NUM_ROUNDS, rounds);
+		assertEquals(scores[1], replayedScores[1]);
+		assertEquals(scores[2], replayedScores[2]);
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsAnEmptyFile() throws IOException {
+		open(new byte[0]);
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsAFileShorterThanAHeader() throws IOException {
+		open(new byte[] {0x4E, 0x49, 0x4D});
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsAnotherMagicNumber() throws IOException {
+		open(header(0x12345678, GameRecorder.VERSION, 1, 3));
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsAnotherVersion() throws IOException {
+		open(header(GameRecorder.MAGIC, (byte) (GameRecorder.VERSION + 1), 1, 3));
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsAHeaderEndingBeforeItsRows() throws IOException {
+		open(header(GameRecorder.MAGIC, GameRecorder.VERSION, 5, 1, 3));
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsABoardWithoutRows() throws IOException {
+		open(header(GameRecorder.MAGIC, GameRecorder.VERSION, 0));
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsAnEmptyRow() throws IOException {
+		open(header(GameRecorder.MAGIC, GameRecorder.VERSION, 2, 3, 0));
+	}
+}
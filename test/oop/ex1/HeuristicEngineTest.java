@@ -0,0 +1,229 @@
+package oop.ex1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Checks that the heuristic engine chooses the same moves as the original heuristic on the states of the
+ * board. States on which the original heuristic chooses an illegal move are only checked for the legality of
+ * the move chosen by the engine.
+ * By default a fixed sample of the states is checked; every state of the board (2^25 of them, about a
+ * minute) is checked with "mvn test -Pexhaustive", or with the system property heuristic.exhaustive set to
+ * true.
+ */
+public class HeuristicEngineTest {
+
+	/** The system property asking for every state of the board to be checked. */
+	private static final String EXHAUSTIVE_PROPERTY = "heuristic.exhaustive";
+
+	/** The number of states checked by default, drawn at random from a fixed seed. */
+	private static final int SAMPLED_STATES = 200000;
+
+	private static final long SAMPLE_SEED = 2017;
+
+	/**Used by legacyHeuristicMove() for binary representation of board rows. */
+	private static final int BINARY_LENGTH = 4;
+
+	private final HeuristicEngine engine = new HeuristicEngine(BoardShape.STANDARD);
+	private final int numSticks = new Board().getNumberOfUnmarkedSticks();
+
+	@Test
+	public void producesTheMovesOfTheOriginalHeuristic(){
+		if (Boolean.getBoolean(EXHAUSTIVE_PROPERTY)){
+			for (int state = 1; state < (1 << numSticks); state++){
+				checkState(state);
+			}
+		} else {
+			SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+			for (int i = 0; i < SAMPLED_STATES; i++){
+				checkState(random.nextInt(1, 1 << numSticks));
+			}
+		}
+	}
+
+	@Test
+	public void producesTheMovesOfTheOriginalHeuristicOnSmallStates(){
+		// every state of at most four unmarked sticks, the ends of the rounds, whatever the sample.
+		for (int state = 1; state < (1 << numSticks); state++){
+			if (Integer.bitCount(state) <= 4){
+				checkState(state);
+			}
+		}
+	}
+
+	/**
+	 * Checks the move of the engine on a state, a mask of the sticks left unmarked with the rows laid one
+	 * after the other.
+	 */
+	private void checkState(int state){
+		Board board = new Board();
+		int stickIndex = 0;
+		for (int row = 1; row <= board.getNumberOfRows(); row++){
+			for (int stick = 1; stick <= board.getRowLength(row); stick++, stickIndex++){
+				if ((state & (1 << stickIndex)) == 0){
+					board.markStickSequence(Move.of(board.getShape(), row, stick, stick));
+				}
+			}
+		}
+		Move expected = legacyHeuristicMove(board);
+		Move actual = engine.produceMove(board);
+		if (isLegal(expected, board)){
+			assertEquals("The move on:\n" + board, expected.toString(), actual.toString());
+		} else {
+			assertTrue("Illegal move " + actual + " on:\n" + board, isLegal(actual, board));
+		}
+	}
+
+	/**
+	 * @return true if the move marks only unmarked sticks of the board.
+	 */
+	private static boolean isLegal(Move move, Board board){
+		if (move.getLeftBound() < 1 || move.getLeftBound() > move.getRightBound()){
+			return false;
+		}
+		for (int stick = move.getLeftBound(); stick <= move.getRightBound(); stick++){
+			if (!board.isStickUnmarked(move.getRow(), stick)){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The heuristic of the Heuristic player as it was written before the heuristic engine.
+	 */
+	private static Move legacyHeuristicMove(Board board){
+
+		int numRows = board.getNumberOfRows();
+		int[][] bins = new int[numRows][BINARY_LENGTH];
+		int[] binarySum = new int[BINARY_LENGTH];
+		int bitIndex,higherThenOne=0,totalOnes=0,lastRow=0,lastLeft=0,lastSize=0,lastOneRow=0,lastOneLeft=0;
+
+		for(bitIndex = 0;bitIndex<BINARY_LENGTH;bitIndex++){
+			binarySum[bitIndex] = 0;
+		}
+
+		for(int k=0;k<numRows;k++){
+
+			int curRowLength = board.getRowLength(k+1);
+			int i = 0;
+			int numOnes = 0;
+
+			for(bitIndex = 0;bitIndex<BINARY_LENGTH;bitIndex++){
+				bins[k][bitIndex] = 0;
+			}
+
+			do {
+				if(i<curRowLength && board.isStickUnmarked(k+1,i+1) ){
+					numOnes++;
+				} else {
+
+					if(numOnes>0){
+
+						String curNum = Integer.toBinaryString(numOnes);
+						while(curNum.length()<BINARY_LENGTH){
+							curNum = "0" + curNum;
+						}
+						for(bitIndex = 0;bitIndex<BINARY_LENGTH;bitIndex++){
+							bins[k][bitIndex] += curNum.charAt(bitIndex)-'0'; //Convert from char to int
+						}
+
+						if(numOnes>1){
+							higherThenOne++;
+							lastRow = k +1;
+							lastLeft = i - numOnes + 1;
+							lastSize = numOnes;
+						} else {
+							totalOnes++;
+						}
+						lastOneRow = k+1;
+						lastOneLeft = i;
+
+						numOnes = 0;
+					}
+				}
+				i++;
+			}while(i<=curRowLength);
+
+			for(bitIndex = 0;bitIndex<BINARY_LENGTH;bitIndex++){
+				binarySum[bitIndex] = (binarySum[bitIndex]+bins[k][bitIndex])%2;
+			}
+		}
+
+
+		//We only have single sticks
+		if(higherThenOne==0){
+			return Move.of(board.getShape(),lastOneRow,lastOneLeft,lastOneLeft);
+		}
+
+		//We are at a finishing state
+		if(higherThenOne<=1){
+
+			if(totalOnes == 0){
+				return Move.of(board.getShape(),lastRow,lastLeft,lastLeft+(lastSize-1) - 1);
+			} else {
+				return Move.of(board.getShape(),lastRow,lastLeft,lastLeft+(lastSize-1)-(1-totalOnes%2));
+			}
+
+		}
+
+		for(bitIndex = 0;bitIndex<BINARY_LENGTH-1;bitIndex++){
+
+			if(binarySum[bitIndex]>0){
+
+				int finalSum = 0,eraseRow = 0,eraseSize = 0,numRemove = 0;
+				for(int k=0;k<numRows;k++){
+
+					if(bins[k][bitIndex]>0){
+						eraseRow = k+1;
+						eraseSize = (int)Math.pow(2,BINARY_LENGTH-bitIndex-1);
+
+						for(int b2 = bitIndex+1;b2<BINARY_LENGTH;b2++){
+
+							if(binarySum[b2]>0){
+
+								if(bins[k][b2]==0){
+									finalSum = finalSum + (int)Math.pow(2,BINARY_LENGTH-b2-1);
+								} else {
+									finalSum = finalSum - (int)Math.pow(2,BINARY_LENGTH-b2-1);
+								}
+
+							}
+
+						}
+						break;
+					}
+				}
+
+				numRemove = eraseSize - finalSum;
+
+				//Now we find that part and remove from it the required piece
+				int numOnes=0,i=0;
+				while(numOnes<eraseSize){
+
+					if(board.isStickUnmarked(eraseRow,i+1)){
+						numOnes++;
+					} else {
+						numOnes=0;
+					}
+					i++;
+
+				}
+				return Move.of(board.getShape(),eraseRow,i-numOnes+1,i-numOnes+numRemove);
+			}
+		}
+
+		//If we reached here, and the board is not symmetric, then we only need to erase a single stick
+		if(binarySum[BINARY_LENGTH-1]>0){
+			return Move.of(board.getShape(),lastOneRow,lastOneLeft,lastOneLeft);
+		}
+
+		//If we reached here, it means that the board is already symmetric, and then we simply mark one stick
+		// from the last sequence we saw:
+		return Move.of(board.getShape(),lastRow,lastLeft,lastLeft);
+	}
+}
@@ -0,0 +1,103 @@
+package oop.ex1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Checks the counters of the move cache, and that it evicts the least recently used move of a full set. A
+ * cache of at most MoveCache.WAYS moves is a single set, so which move it evicts is known.
+ */
+public class MoveCacheTest {
+
+	private static final long SAMPLE_SEED = 2017;
+
+	/**
+	 * @return a standard board with only the given stick of its first row marked, a different position for
+	 * every stick.
+	 */
+	private static Board position(int stick){
+		Board board = new Board();
+		board.markStickSequence(Move.of(board.getShape(), 1, stick, stick));
+		return board;
+	}
+
+	/**
+	 * @return a move to cache for the given position, different for every stick.
+	 */
+	private static Move moveOf(Board board, int stick){
+		return Move.of(board.getShape(), 2, stick % 7 + 1, stick % 7 + 1);
+	}
+
+	@Test
+	public void evictsTheLeastRecentlyUsedMove(){
+		MoveCache cache = new MoveCache(4);
+		Board[] boards = new Board[6];
+		for (int stick = 1; stick <= 4; stick++){
+			boards[stick] = position(stick);
+			cache.put(boards[stick], moveOf(boards[stick], stick));
+		}
+		assertSame(moveOf(boards[1], 1), cache.get(boards[1]));
+		boards[5] = position(5);
+		cache.put(boards[5], moveOf(boards[5], 5));
+
+		assertNull(cache.get(boards[2]));
+		for (int stick : new int[]{1, 3, 4, 5}){
+			assertSame(moveOf(boards[stick], stick), cache.get(boards[stick]));
+		}
+		assertEquals(5, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.getEvictions());
+		assertEquals(4, cache.size());
+	}
+
+	@Test
+	public void replacingAMoveEvictsNothing(){
+		MoveCache cache = new MoveCache(2);
+		Board board = position(1);
+		cache.put(board, moveOf(board, 1));
+		cache.put(board, moveOf(board, 2));
+		assertSame(moveOf(board, 2), cache.get(board));
+		assertNull(cache.get(position(2)));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0, cache.getEvictions());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void countsEveryMoveItCouldNotKeepAsAnEviction(){
+		MoveCache cache = new MoveCache(100);
+		SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+		Set<Board> positions = new HashSet<>();
+		Board board = new Board();
+		for (int i = 0; i < 5000; i++){
+			board.reset();
+			for (int marks = random.nextInt(1, 6); marks > 0; marks--){
+				int row = random.nextInt(1, board.getNumberOfRows() + 1);
+				int stick = random.nextInt(1, board.getRowLength(row) + 1);
+				if (board.isStickUnmarked(row, stick)){
+					board.markStickSequence(Move.of(board.getShape(), row, stick, stick));
+				}
+			}
+			Board position = new Board(board.getShape());
+			position.copyFrom(board);
+			if (positions.add(position)){
+				Move move = moveOf(board, i);
+				cache.put(board, move);
+				assertSame(move, cache.get(board));
+			}
+		}
+		assertTrue(cache.size() <= cache.getCapacity());
+		assertEquals(positions.size() - cache.size(), cache.getEvictions());
+		assertEquals(positions.size(), cache.getHits());
+		assertEquals(0, cache.getMisses());
+	}
+}
@@ -0,0 +1,53 @@
+package oop.ex1;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Checks that a seeded competition gives the same scores on any number of threads as on a single one.
+ */
+public class ParallelCompetitionTest {
+
+	private static final int NUM_ROUNDS = 2000;
+	private static final long SEED = 2017;
+	private static final int[] NUM_THREADS = {1, 2, 4, 7};
+
+	/**
+	 * @return the scores of the first and second player after the rounds of a seeded competition played on
+	 * the given number of threads, or in the calling thread if 0 is given.
+	 */
+	private static int[] scores(int p1Type, int p2Type, int numThreads){
+		try (Player player1 = new Player(p1Type, 1, null);
+				Player player2 = new Player(p2Type, 2, null)){
+			Competition competition = new Competition(player1, player2, false);
+			competition.setSeed(SEED);
+			if (numThreads == 0){
+				competition.playRounds(NUM_ROUNDS);
+			} else {
+				ForkJoinPool pool = new ForkJoinPool(numThreads);
+				try {
+					competition.playMultipleRounds(NUM_ROUNDS, pool);
+				} finally {
+					pool.shutdown();
+				}
+			}
+			return new int[] {competition.getPlayerScore(1), competition.getPlayerScore(2)};
+		}
+	}
+
+	@Test
+	public void givesTheScoresOfASingleThread(){
+		int[][] pairings = {{Player.RANDOM, Player.HEURISTIC}, {Player.HEURISTIC, Player.RANDOM},
+				{Player.RANDOM, Player.SMART}, {Player.RANDOM, Player.RANDOM}};
+		for (int[] pairing : pairings){
+			int[] expected = scores(pairing[0], pairing[1], 0);
+			for (int numThreads : NUM_THREADS){
+				assertArrayEquals(pairing[0] + " against " + pairing[1] + " on " + numThreads + " threads",
+						expected, scores(pairing[0], pairing[1], numThreads));
+			}
+		}
+	}
+}
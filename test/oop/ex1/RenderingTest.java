@@ -0,0 +1,92 @@
+package oop.ex1;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Checks that the boards and moves are rendered exactly like the original Board and Move classes rendered
+ * them, whichever of toString, appendTo and writeTo renders them.
+ */
+public class RenderingTest {
+
+	private static final long SEED = 2017;
+	private static final int SAMPLED_BOARDS = 2000;
+
+	/** The clear standard board, as rendered by the original Board. */
+	private static final String CLEAR_BOARD =
+			"    1    \n" +
+			"   111   \n" +
+			"  11111  \n" +
+			" 1111111 \n" +
+			"111111111\n";
+
+	@Test
+	public void rendersTheClearBoardLikeTheOriginalBoard(){
+		assertEquals(CLEAR_BOARD, new Board().toString());
+	}
+
+	@Test
+	public void rendersEveryBoardLikeTheOriginalBoard(){
+		SplittableRandom random = new SplittableRandom(SEED);
+		Board board = new Board();
+		StringBuilder builder = new StringBuilder();
+		ByteBuffer buffer = ByteBuffer.allocate(board.getRenderedLength());
+		for (int i = 0; i < SAMPLED_BOARDS; i++){
+			board.reset();
+			int[][] legacyBoard = {{1,1,1,1,1,1,1,1,1}, {1,1,1,1,1,1,1}, {1,1,1,1,1}, {1,1,1}, {1}};
+			for (int marks = random.nextInt(25); marks > 0; marks--){
+				int row = random.nextInt(1, 6);
+				int stick = random.nextInt(1, board.getRowLength(row) + 1);
+				if (board.markStickSequence(Move.of(board.getShape(), row, stick, stick)) == 0){
+					legacyBoard[row-1][stick-1] = 0;
+				}
+			}
+			String expected = legacyToString(legacyBoard);
+			assertEquals(expected, board.toString());
+			assertEquals(expected.length(), board.getRenderedLength());
+			builder.setLength(0);
+			assertEquals(expected, board.appendTo(builder).toString());
+			buffer.clear();
+			board.writeTo(buffer);
+			assertEquals(expected, new String(buffer.array(), 0, buffer.position(),
+					StandardCharsets.US_ASCII));
+		}
+	}
+
+	@Test
+	public void rendersMovesLikeTheOriginalMove(){
+		assertEquals("2:3-5", Move.of(BoardShape.STANDARD, 2, 3, 5).toString());
+		assertEquals("5:1-1", Move.of(BoardShape.STANDARD, 5, 1, 1).toString());
+		assertEquals("1:1-9", new Move(1, 1, 9).toString());
+	}
+
+	/**
+	 * The toString of the original Board, on its rows of 1 (unmarked) and 0 (marked) sticks.
+	 */
+	private static String legacyToString(int[][] gameBoard){
+		final int MAX_NUM_OF_STICKS_IN_ROW = 9;
+		String output = "";
+		int currentLength,i,j;
+		for(i = gameBoard.length-1 ; i>=0 ; i--){
+
+			currentLength = gameBoard[i].length;
+			for(j=0;j<(MAX_NUM_OF_STICKS_IN_ROW-currentLength)/2.0;j++)
+				output += " ";
+
+			for(j=0;j<currentLength;j++)
+				output += gameBoard[i][j];
+
+			for(j=0;j<(MAX_NUM_OF_STICKS_IN_ROW-currentLength)/2.0;j++)
+				output += " ";
+
+			output += '\n';
+		}
+
+		return output;
+	}
+}
@@ -0,0 +1,60 @@
+package oop.ex1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Checks that the transposition table keeps the results it has room for, and never answers a key with the
+ * result of another once it is full.
+ */
+public class TranspositionTableTest {
+
+	private static final long SEED = 2017;
+
+	private static int resultOf(long key){
+		return (int) (key >>> 40) & 0xFFFFFF;
+	}
+
+	@Test
+	public void keepsTheResultsItHasRoomFor(){
+		TranspositionTable table = new TranspositionTable(1 << 12);
+		for (long key = 1; key <= 1000; key++){
+			assertEquals(TranspositionTable.NOT_FOUND, table.get(key));
+			table.put(key, (int) key);
+		}
+		table.put(7, 0);
+		assertEquals(0, table.get(7));
+		int kept = 0;
+		for (long key = 1; key <= 1000; key++){
+			if (table.get(key) != TranspositionTable.NOT_FOUND){
+				kept++;
+			}
+		}
+		assertTrue("kept " + kept + " of 1000 results", kept > 990);
+	}
+
+	@Test
+	public void neverAnswersWithTheResultOfAnotherKey(){
+		TranspositionTable table = new TranspositionTable(64);
+		SplittableRandom random = new SplittableRandom(SEED);
+		long[] keys = new long[100000];
+		for (int i = 0; i < keys.length; i++){
+			keys[i] = random.nextLong() | 1;
+			table.put(keys[i], resultOf(keys[i]));
+		}
+		int found = 0;
+		for (long key : keys){
+			int result = table.get(key);
+			if (result != TranspositionTable.NOT_FOUND){
+				assertEquals(resultOf(key), result);
+				found++;
+			}
+		}
+		assertTrue(found <= 64);
+		assertEquals(resultOf(keys[keys.length - 1]), table.get(keys[keys.length - 1]));
+	}
+}